@@ -0,0 +1,283 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates handlers for methods annotated with {@code @SubscribeEvent} in {@code EventListenerHost}s at compile time.
+ * For each host class, a class named after its binary name with the suffix {@value #SUFFIX} is generated in the same
+ * package. It implements {@code GeneratedHandlers}, which {@code EventListenerHost.registerTo} loads instead of
+ * scanning and generating handlers at runtime.
+ * <p>
+ * Subscribers are selected like {@code ReflectionListenerResolver} does, and generated handlers report the
+ * {@code lane} of their annotations, and their subscribers as {@code SubscriberHandler}s. A host is skipped, and left to the runtime
+ * resolvers, if the generated code cannot access it or one of its subscribers, if a subscriber throws checked exceptions
+ * other than {@code Interruption}, or if the type of an event contains type variables or wildcards.
+ */
+@SupportedAnnotationTypes(SubscribeEventProcessor.SUBSCRIBE_EVENT)
+public class SubscribeEventProcessor extends AbstractProcessor {
+    /**
+     * Appended to the binary name of a host class. Must match {@code GeneratedListenerResolver.SUFFIX}.
+     */
+    public static final String SUFFIX = "$$KiwiHandlers";
+    static final String SUBSCRIBE_EVENT = "io.ib67.kiwi.event.api.annotation.SubscribeEvent";
+    private static final String LISTENER_HOST = "io.ib67.kiwi.event.api.EventListenerHost";
+    private static final String EVENT = "io.ib67.kiwi.event.api.Event";
+    private static final String INTERRUPTION = "io.ib67.kiwi.routine.Interruption";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        var hosts = new LinkedHashMap<TypeElement, List<ExecutableElement>>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof ExecutableElement method && element.getKind() == ElementKind.METHOD) {
+                    hosts.computeIfAbsent((TypeElement) method.getEnclosingElement(), k -> new ArrayList<>()).add(method);
+                }
+            }
+        }
+        for (Map.Entry<TypeElement, List<ExecutableElement>> entry : hosts.entrySet()) {
+            processHost(entry.getKey(), entry.getValue());
+        }
+        return false;
+    }
+
+    private void processHost(TypeElement host, List<ExecutableElement> methods) {
+        if (!isSubtype(host.asType(), LISTENER_HOST)) {
+            warn(host, "Subscribers of classes which are not EventListenerHost are never registered.");
+            return;
+        }
+        if (!isAccessible(host)) {
+            note(host, "Handlers are not generated for inaccessible listener host.");
+            return;
+        }
+        var subscribers = new ArrayList<ExecutableElement>(methods.size());
+        var types = new ArrayList<String>(methods.size());
+        for (ExecutableElement method : methods) {
+            var params = method.getParameters();
+            if (method.getReturnType().getKind() != TypeKind.VOID
+                    || params.size() != 1
+                    || !isSubtype(params.getFirst().asType(), EVENT)) {
+                continue; // not a subscriber, ignored by runtime resolvers as well.
+            }
+            var type = typeToken(params.getFirst().asType());
+            if (method.getModifiers().contains(Modifier.PRIVATE) || !throwsOnlyInterruption(method) || type == null) {
+                note(method, "Handlers are not generated for the host of this subscriber, runtime resolvers are used instead.");
+                return;
+            }
+            subscribers.add(method);
+            types.add(type);
+        }
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            writeHandlers(host, subscribers, types);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeHandlers(TypeElement host, List<ExecutableElement> subscribers, List<String> types) throws IOException {
+        var elements = processingEnv.getElementUtils();
+        var packageName = elements.getPackageOf(host).getQualifiedName().toString();
+        var binaryName = elements.getBinaryName(host).toString();
+        var simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+        var hostName = rawName(host);
+        var src = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("/**\n * Handlers of {@link ").append(hostName).append("}, generated by ")
+                .append(SubscribeEventProcessor.class.getName()).append(".\n */\n");
+        src.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        src.append("public final class ").append(simpleName)
+                .append(" implements io.ib67.kiwi.event.util.GeneratedHandlers<").append(hostName).append("> {\n");
+        for (int i = 0; i < types.size(); i++) {
+            src.append("    private static final io.ib67.kiwi.TypeToken TYPE_").append(i).append(" = ")
+                    .append(types.get(i)).append(";\n");
+        }
+        src.append("\n    @Override\n");
+        src.append("    public java.util.List<io.ib67.kiwi.event.util.EventTuple<?>> resolveHandlers(")
+                .append(hostName).append(" host) {\n");
+        src.append("        return java.util.List.of(\n");
+        for (int i = 0; i < subscribers.size(); i++) {
+            var lane = lane(subscribers.get(i));
+            src.append("                new io.ib67.kiwi.event.util.EventTuple(TYPE_").append(i)
+                    .append(", new Handler(host, ").append(i).append(", ")
+                    .append(lane == null ? "null" : elements.getConstantExpression(lane)).append(", ")
+                    .append(elements.getConstantExpression(subscribers.get(i).getSimpleName().toString())).append("))")
+                    .append(i == subscribers.size() - 1 ? "\n" : ",\n");
+        }
+        src.append("        );\n    }\n\n");
+        src.append("    private static final class Handler implements io.ib67.kiwi.event.util.SubscriberHandler {\n");
+        src.append("        private final ").append(hostName).append(" host;\n");
+        src.append("        private final int index;\n");
+        src.append("        private final String lane;\n");
+        src.append("        private final String methodName;\n\n");
+        src.append("        Handler(").append(hostName).append(" host, int index, String lane, String methodName) {\n");
+        src.append("            this.host = java.util.Objects.requireNonNull(host);\n");
+        src.append("            this.index = index;\n");
+        src.append("            this.lane = lane;\n");
+        src.append("            this.methodName = methodName;\n        }\n\n");
+        src.append("        @Override\n");
+        src.append("        public String lane() {\n");
+        src.append("            return lane;\n        }\n\n");
+        src.append("        @Override\n");
+        src.append("        public Class<?> hostClass() {\n");
+        src.append("            return ").append(hostName).append(".class;\n        }\n\n");
+        src.append("        @Override\n");
+        src.append("        public String methodName() {\n");
+        src.append("            return methodName;\n        }\n\n");
+        src.append("        @Override\n");
+        src.append("        public void handle(io.ib67.kiwi.event.api.Event event) throws ").append(INTERRUPTION).append(" {\n");
+        src.append("            switch (index) {\n");
+        for (int i = 0; i < subscribers.size(); i++) {
+            var method = subscribers.get(i);
+            var eventType = (DeclaredType) method.getParameters().getFirst().asType();
+            src.append("                case ").append(i).append(":\n");
+            src.append("                    host.").append(method.getSimpleName()).append("((")
+                    .append(rawName((TypeElement) eventType.asElement())).append(") event);\n");
+            src.append("                    return;\n");
+        }
+        src.append("                default:\n");
+        src.append("                    throw new IllegalStateException(\"Unknown handler index: \" + index);\n");
+        src.append("            }\n        }\n    }\n}\n");
+        var file = processingEnv.getFiler().createSourceFile(
+                packageName.isEmpty() ? simpleName : packageName + "." + simpleName, host);
+        try (var writer = file.openWriter()) {
+            writer.write(src.toString());
+        }
+    }
+
+    /**
+     * Creates an expression that constructs a {@code TypeToken} equal to the one resolved by runtime resolvers.
+     *
+     * @return the expression, or null if the type cannot be expressed without reflection.
+     */
+    private String typeToken(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        var declared = (DeclaredType) type;
+        var element = (TypeElement) declared.asElement();
+        if (!isAccessible(element)) {
+            return null;
+        }
+        var arguments = declared.getTypeArguments();
+        if (arguments.isEmpty()) {
+            return "io.ib67.kiwi.TypeToken.resolve(" + rawName(element) + ".class)";
+        }
+        var result = new StringBuilder("new io.ib67.kiwi.TypeToken(").append(rawName(element)).append(".class");
+        for (TypeMirror argument : arguments) {
+            var token = typeToken(argument);
+            if (token == null) {
+                return null;
+            }
+            result.append(", ").append(token);
+        }
+        return result.append(")").toString();
+    }
+
+    /**
+     * @return the lane of the subscriber, or null if it runs on the posting thread.
+     */
+    private static String lane(ExecutableElement method) {
+        for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            if (!rawName((TypeElement) annotation.getAnnotationType().asElement()).equals(SUBSCRIBE_EVENT)) {
+                continue;
+            }
+            for (var entry : annotation.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("lane")) {
+                    var lane = (String) entry.getValue().getValue();
+                    return lane.isEmpty() ? null : lane;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean throwsOnlyInterruption(ExecutableElement method) {
+        for (TypeMirror thrown : method.getThrownTypes()) {
+            if (!isSubtype(thrown, INTERRUPTION)
+                    && !isSubtype(thrown, RuntimeException.class.getName())
+                    && !isSubtype(thrown, Error.class.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isAccessible(TypeElement type) {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            var nesting = ((TypeElement) element).getNestingKind();
+            if (element.getModifiers().contains(Modifier.PRIVATE)
+                    || nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSubtype(TypeMirror type, String superType) {
+        var superElement = processingEnv.getElementUtils().getTypeElement(superType);
+        if (superElement == null) {
+            return false;
+        }
+        var types = processingEnv.getTypeUtils();
+        return types.isAssignable(types.erasure(type), types.erasure(superElement.asType()));
+    }
+
+    private static String rawName(TypeElement type) {
+        return type.getQualifiedName().toString();
+    }
+
+    private void warn(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
+    private void note(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+    }
+}
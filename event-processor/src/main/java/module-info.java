@@ -0,0 +1,8 @@
+/**
+ * An annotation processor that generates handlers of kiwi.event listener hosts at compile time
+ */
+module kiwi.event.processor {
+    requires java.compiler;
+    exports io.ib67.kiwi.event.processor;
+    provides javax.annotation.processing.Processor with io.ib67.kiwi.event.processor.SubscribeEventProcessor;
+}
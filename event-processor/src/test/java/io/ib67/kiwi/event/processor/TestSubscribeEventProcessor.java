@@ -0,0 +1,194 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event.processor;
+
+import io.ib67.kiwi.event.HierarchyEventBus;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.util.EventTuple;
+import io.ib67.kiwi.event.util.GeneratedListenerResolver;
+import io.ib67.kiwi.event.util.ReflectionListenerResolver;
+import io.ib67.kiwi.event.util.SubscriberHandler;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.lang.invoke.MethodHandles;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestSubscribeEventProcessor {
+    private static final String SAMPLE_LISTENER = """
+            package sample;
+
+            import io.ib67.kiwi.TypeToken;
+            import io.ib67.kiwi.event.api.Event;
+            import io.ib67.kiwi.event.api.EventListenerHost;
+            import io.ib67.kiwi.event.api.annotation.SubscribeEvent;
+            import java.util.ArrayList;
+            import java.util.List;
+
+            public class SampleListener implements EventListenerHost {
+                public final List<String> received = new ArrayList<>();
+
+                @SubscribeEvent
+                public void onSample(SampleEvent event) {
+                    received.add("sample");
+                }
+
+                @SubscribeEvent(lane = "io")
+                void onGeneric(GenericEvent<List<String>> event) {
+                    received.add("generic");
+                }
+
+                public static class SampleEvent implements Event {
+                    @Override
+                    public TypeToken<? extends Event> type() {
+                        return TypeToken.resolve(SampleEvent.class);
+                    }
+                }
+
+                public static class GenericEvent<T> implements Event {
+                    @Override
+                    public TypeToken<? extends Event> type() {
+                        return TypeToken.resolve(GenericEvent.class);
+                    }
+                }
+            }
+            """;
+    private static final String PRIVATE_LISTENER = """
+            package sample;
+
+            import io.ib67.kiwi.event.api.EventListenerHost;
+            import io.ib67.kiwi.event.api.annotation.SubscribeEvent;
+
+            public class PrivateListener implements EventListenerHost {
+                public boolean called;
+
+                @SubscribeEvent
+                private void onSample(SampleListener.SampleEvent event) {
+                    called = true;
+                }
+            }
+            """;
+    @TempDir
+    static Path tempDir;
+    private static ClassLoader loader;
+
+    @BeforeAll
+    static void compile() throws Exception {
+        var sources = tempDir.resolve("src/sample");
+        var output = tempDir.resolve("out");
+        Files.createDirectories(sources);
+        Files.createDirectories(output);
+        Files.writeString(sources.resolve("SampleListener.java"), SAMPLE_LISTENER);
+        Files.writeString(sources.resolve("PrivateListener.java"), PRIVATE_LISTENER);
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        try (var fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            var units = fileManager.getJavaFileObjects(sources.resolve("SampleListener.java"), sources.resolve("PrivateListener.java"));
+            var task = compiler.getTask(null, fileManager, diagnostics, List.of(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", output.toString()
+            ), null, units);
+            task.setProcessors(List.of(new SubscribeEventProcessor()));
+            assertTrue(task.call(), () -> diagnostics.getDiagnostics().toString());
+        }
+        loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, TestSubscribeEventProcessor.class.getClassLoader());
+    }
+
+    @Test
+    void testGeneratedHandlersAreRegistered() throws Exception {
+        var hostClass = loader.loadClass("sample.SampleListener");
+        assertNotNull(loader.loadClass("sample.SampleListener" + SubscribeEventProcessor.SUFFIX));
+        var host = (EventListenerHost) hostClass.getConstructor().newInstance();
+        var bus = new HierarchyEventBus();
+        host.registerTo(bus);
+        bus.post((Event) loader.loadClass("sample.SampleListener$SampleEvent").getConstructor().newInstance());
+        assertEquals(List.of("sample"), hostClass.getField("received").get(host));
+    }
+
+    @Test
+    void testGeneratedTypesMatchRuntimeResolver() throws Exception {
+        var host = (EventListenerHost) loader.loadClass("sample.SampleListener").getConstructor().newInstance();
+        var generated = GeneratedListenerResolver.resolveHandlers(host);
+        assertNotNull(generated);
+        var lookup = MethodHandles.privateLookupIn(host.getClass(), MethodHandles.lookup());
+        var reflected = new ReflectionListenerResolver(lookup, host).resolveHandlers();
+        assertEquals(
+                reflected.stream().map(EventTuple::type).collect(Collectors.toSet()),
+                generated.stream().map(EventTuple::type).collect(Collectors.toSet())
+        );
+    }
+
+    @Test
+    void testGeneratedLanesMatchRuntimeResolver() throws Exception {
+        var host = (EventListenerHost) loader.loadClass("sample.SampleListener").getConstructor().newInstance();
+        var generated = GeneratedListenerResolver.resolveHandlers(host);
+        assertNotNull(generated);
+        var lookup = MethodHandles.privateLookupIn(host.getClass(), MethodHandles.lookup());
+        var reflected = new ReflectionListenerResolver(lookup, host).resolveHandlers();
+        assertEquals(
+                reflected.stream().collect(Collectors.toMap(EventTuple::type, it -> String.valueOf(it.handler().lane()))),
+                generated.stream().collect(Collectors.toMap(EventTuple::type, it -> String.valueOf(it.handler().lane())))
+        );
+        assertTrue(generated.stream().anyMatch(it -> "io".equals(it.handler().lane())));
+    }
+
+    @Test
+    void testGeneratedSubscribersMatchRuntimeResolver() throws Exception {
+        var host = (EventListenerHost) loader.loadClass("sample.SampleListener").getConstructor().newInstance();
+        var generated = GeneratedListenerResolver.resolveHandlers(host);
+        assertNotNull(generated);
+        var lookup = MethodHandles.privateLookupIn(host.getClass(), MethodHandles.lookup());
+        var reflected = new ReflectionListenerResolver(lookup, host).resolveHandlers();
+        assertEquals(
+                reflected.stream().collect(Collectors.toMap(EventTuple::type, it -> subscriber(it.handler()))),
+                generated.stream().collect(Collectors.toMap(EventTuple::type, it -> subscriber(it.handler())))
+        );
+    }
+
+    private static String subscriber(EventHandler<?> handler) {
+        var subscriber = (SubscriberHandler<?>) handler;
+        return subscriber.hostClass().getName() + "#" + subscriber.methodName();
+    }
+
+    @Test
+    void testInaccessibleSubscriberFallsBack() throws Exception {
+        var hostClass = loader.loadClass("sample.PrivateListener");
+        assertThrows(ClassNotFoundException.class, () -> loader.loadClass("sample.PrivateListener" + SubscribeEventProcessor.SUFFIX));
+        var host = (EventListenerHost) hostClass.getConstructor().newInstance();
+        assertNull(GeneratedListenerResolver.resolveHandlers(host));
+    }
+}
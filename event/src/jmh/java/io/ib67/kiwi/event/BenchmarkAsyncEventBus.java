@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures {@link AsyncEventBus} against synchronous posting when handlers block for a while.
+ * {@code *Latency} benchmarks measure the time spent by producers, with at most {@link #IN_FLIGHT} events left
+ * undelivered to keep the backlog bounded. {@code *Throughput} ones wait for a batch of events to be fully delivered.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BenchmarkAsyncEventBus {
+    private static final int BATCH = 64;
+    private static final int IN_FLIGHT = 1024;
+
+    record TestEventA() implements Event {
+        public static final TypeToken<TestEventA> TYPE = TypeToken.resolve(TestEventA.class);
+
+        @Override
+        public TypeToken<TestEventA> type() {
+            return TYPE;
+        }
+    }
+
+    @Param({"10"})
+    public int numHandlers;
+
+    /**
+     * Time that handlers spend on pretended IO.
+     */
+    @Param({"0", "50000"})
+    public long blockNanos;
+
+    private TestEventA event;
+    private EventBus syncBus;
+    private AsyncEventBus virtualBus;
+    private AsyncEventBus platformBus;
+    private final CompletableFuture<?>[] inFlight = new CompletableFuture<?>[IN_FLIGHT];
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        event = new TestEventA();
+        syncBus = new CopyOnWriteEventBus();
+        virtualBus = AsyncEventBus.ofVirtualThreads();
+        platformBus = AsyncEventBus.ofPlatformThreads(Runtime.getRuntime().availableProcessors());
+        for (int i = 0; i < numHandlers; i++) {
+            syncBus.register(TestEventA.TYPE, this::handler);
+            virtualBus.register(TestEventA.TYPE, this::handler);
+            platformBus.register(TestEventA.TYPE, this::handler);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        CompletableFuture.allOf(Arrays.stream(inFlight).filter(Objects::nonNull).toArray(CompletableFuture[]::new)).join();
+        virtualBus.close();
+        platformBus.close();
+    }
+
+    void handler(TestEventA event) {
+        Blackhole.consumeCPU(10);
+        if (blockNanos > 0) {
+            LockSupport.parkNanos(blockNanos / numHandlers);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public boolean postSyncLatency() {
+        return syncBus.post(event);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public CompletableFuture<Boolean> postVirtualLatency() {
+        return track(virtualBus.postAsync(event));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public CompletableFuture<Boolean> postPlatformLatency() {
+        return track(platformBus.postAsync(event));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(BATCH)
+    public void postSyncThroughput() {
+        for (int i = 0; i < BATCH; i++) {
+            syncBus.post(event);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(BATCH)
+    public void postVirtualThroughput() {
+        postBatch(virtualBus);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(BATCH)
+    public void postPlatformThroughput() {
+        postBatch(platformBus);
+    }
+
+    private CompletableFuture<Boolean> track(CompletableFuture<Boolean> future) {
+        var index = cursor++ & (IN_FLIGHT - 1);
+        var oldest = inFlight[index];
+        if (oldest != null) {
+            oldest.join();
+        }
+        inFlight[index] = future;
+        return future;
+    }
+
+    private void postBatch(AsyncEventBus bus) {
+        var futures = new CompletableFuture<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            futures[i] = bus.postAsync(event);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.event.api.Cancellable;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.routine.Interruption;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancels every other event in the middle of its handlers, by throwing {@link Interruption} or by {@link Cancellable}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BenchmarkCancellation {
+    static final class InterruptedEvent implements Event {
+    }
+
+    static final class CancelledEvent implements Cancellable {
+        private boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+    }
+
+    @Param({"20"})
+    public int numHandlers;
+
+    @Param({"false", "true"})
+    public boolean compiled;
+
+    private EventBus busInterruption;
+    private EventBus busFlag;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        busInterruption = new HierarchyEventBus(e -> true, compiled);
+        busFlag = new HierarchyEventBus(e -> true, compiled);
+        for (int i = 0; i < numHandlers; i++) {
+            if (i == numHandlers / 2) {
+                busInterruption.register(InterruptedEvent.class, this::interrupt);
+                busFlag.register(CancelledEvent.class, this::cancel);
+            } else {
+                busInterruption.register(InterruptedEvent.class, this::handle);
+                busFlag.register(CancelledEvent.class, this::handle);
+            }
+        }
+    }
+
+    void handle(Event event) {
+        Blackhole.consumeCPU(10);
+    }
+
+    void interrupt(InterruptedEvent event) throws Interruption {
+        if ((counter++ & 1) == 0) {
+            throw Interruption.INTERRUPTION;
+        }
+    }
+
+    void cancel(CancelledEvent event) {
+        if ((counter++ & 1) == 0) {
+            event.setCancelled(true);
+        }
+    }
+
+    @Benchmark
+    public boolean cancelByInterruption() {
+        return busInterruption.post(new InterruptedEvent());
+    }
+
+    @Benchmark
+    public boolean cancelByFlag() {
+        return busFlag.post(new CancelledEvent());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link HierarchyEventBus} against {@link CopyOnWriteEventBus} when posting from multiple threads.
+ * Throughput of the same benchmark with different {@link Threads} shows how well each bus scales.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BenchmarkEventBusConcurrency {
+    @Param({"100"})
+    public int numHandlers;
+    private EventBus lockingBus;
+    private EventBus copyOnWriteBus;
+    private TestEventB event;
+
+    @Setup
+    public void setup() {
+        lockingBus = new HierarchyEventBus();
+        copyOnWriteBus = new CopyOnWriteEventBus();
+        event = new TestEventB();
+        for (int i = 0; i < (numHandlers / 2); i++) {
+            lockingBus.register(TestEventA.TYPE, this::handleEventA);
+            lockingBus.register(TestEventB.TYPE, this::handleEventB);
+            copyOnWriteBus.register(TestEventA.TYPE, this::handleEventA);
+            copyOnWriteBus.register(TestEventB.TYPE, this::handleEventB);
+        }
+        // build dispatch plans before posting concurrently.
+        lockingBus.post(event);
+        copyOnWriteBus.post(event);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean postLocking_1() {
+        return lockingBus.post(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean postLocking_4() {
+        return lockingBus.post(event);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean postLocking_max() {
+        return lockingBus.post(event);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean postCopyOnWrite_1() {
+        return copyOnWriteBus.post(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean postCopyOnWrite_4() {
+        return copyOnWriteBus.post(event);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean postCopyOnWrite_max() {
+        return copyOnWriteBus.post(event);
+    }
+
+    void handleEventA(TestEventA event) {
+        Blackhole.consumeCPU(10);
+    }
+
+    void handleEventB(TestEventB event) {
+        Blackhole.consumeCPU(10);
+    }
+
+    static class TestEventA implements Event {
+        static final TypeToken<TestEventA> TYPE = TypeToken.resolve(TestEventA.class);
+
+        @Override
+        public TypeToken<? extends TestEventA> type() {
+            return TYPE;
+        }
+    }
+
+    static class TestEventB extends TestEventA {
+        static final TypeToken<TestEventB> TYPE = TypeToken.resolve(TestEventB.class);
+
+        @Override
+        public TypeToken<? extends TestEventB> type() {
+            return TYPE;
+        }
+    }
+}
@@ -27,6 +27,7 @@ package io.ib67.kiwi.event;
 import io.ib67.kiwi.TypeToken;
 import io.ib67.kiwi.event.api.Event;
 import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.metrics.EventBusMetrics;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 
@@ -40,6 +41,8 @@ public class BenchmarkEventBusPolymorphism {
     public int numHandlers;
     private EventBus eventBus;
     private EventBus singleEventBus;
+    private EventBus compiledEventBus;
+    private EventBus meteredEventBus;
     private TestEventA eventA;
     private TestEventB eventB;
     private TestEventC eventC;
@@ -48,6 +51,8 @@ public class BenchmarkEventBusPolymorphism {
     public void setup() {
         eventBus = new HierarchyEventBus();
         singleEventBus = new HierarchyEventBus();
+        compiledEventBus = new HierarchyEventBus(e -> true, true);
+        meteredEventBus = new MeteredEventBus(new HierarchyEventBus(), new EventBusMetrics());
         eventA = new TestEventA();
         eventB = new TestEventB();
         eventC = new TestEventC();
@@ -58,6 +63,10 @@ public class BenchmarkEventBusPolymorphism {
         for (int i = 0; i < (numHandlers / 2); i++) {
             eventBus.register(eventA.type(), this::handleEventA);
             eventBus.register(eventB.type(), this::handleEventB);
+            compiledEventBus.register(eventA.type(), this::handleEventA);
+            compiledEventBus.register(eventB.type(), this::handleEventB);
+            meteredEventBus.register(eventA.type(), this::handleEventA);
+            meteredEventBus.register(eventB.type(), this::handleEventB);
         }
     }
 
@@ -67,6 +76,18 @@ public class BenchmarkEventBusPolymorphism {
         eventBus.post(eventB);
     }
 
+    @Benchmark
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    public void postEventHierarchyCompiled() {
+        compiledEventBus.post(eventB);
+    }
+
+    @Benchmark
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    public void postEventHierarchyMetered() {
+        meteredEventBus.post(eventB);
+    }
+
     @Benchmark
     @CompilerControl(CompilerControl.Mode.DONT_INLINE)
     public void postEventSingle() {
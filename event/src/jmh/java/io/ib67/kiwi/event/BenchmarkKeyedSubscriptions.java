@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.routine.Interruption;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Posts events to one of many keys, each with a handler, by indexing handlers by their keys or by filtering in every handler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BenchmarkKeyedSubscriptions {
+    record PlayerEvent(int player) implements Event {
+    }
+
+    @Param({"10", "1000"})
+    public int numKeys;
+
+    private EventBus busIndexed;
+    private EventBus busFiltered;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        busIndexed = new HierarchyEventBus();
+        busFiltered = new HierarchyEventBus();
+        var type = TypeToken.resolve(PlayerEvent.class);
+        Function<PlayerEvent, Integer> player = PlayerEvent::player;
+        EventHandler<PlayerEvent> handler = this::handle;
+        for (int i = 0; i < numKeys; i++) {
+            busIndexed.register(type, player, i, handler);
+            int key = i;
+            busFiltered.register(type, event -> {
+                if (event.player() == key) handler.handle(event);
+            });
+        }
+    }
+
+    void handle(PlayerEvent event) throws Interruption {
+        Blackhole.consumeCPU(10);
+    }
+
+    @Benchmark
+    public boolean indexed() {
+        return busIndexed.post(new PlayerEvent(counter++ % numKeys));
+    }
+
+    @Benchmark
+    public boolean filtered() {
+        return busFiltered.post(new PlayerEvent(counter++ % numKeys));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.api.EventHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posts a batch of events whose handlers run on a manual lane drained once per batch, compared to the posting thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BenchmarkLaneEventBus {
+    static final class TestEvent implements Event {
+    }
+
+    @Param({"10"})
+    public int numHandlers;
+
+    @Param({"100"})
+    public int batchSize;
+
+    private EventBus busDirect;
+    private LaneEventBus busLane;
+    private final TestEvent event = new TestEvent();
+
+    @Setup
+    public void setup() {
+        busDirect = new HierarchyEventBus();
+        busLane = new LaneEventBus(new HierarchyEventBus(), Map.of("main", LaneEventBus.MANUAL));
+        for (int i = 0; i < numHandlers; i++) {
+            busDirect.register(TestEvent.class, this::handle);
+            busLane.register(TestEvent.class, new EventHandler<>() {
+                @Override
+                public void handle(TestEvent event) {
+                    BenchmarkLaneEventBus.this.handle(event);
+                }
+
+                @Override
+                public String lane() {
+                    return "main";
+                }
+            });
+        }
+    }
+
+    void handle(TestEvent event) {
+        Blackhole.consumeCPU(10);
+    }
+
+    @Benchmark
+    public void postingThread() {
+        for (int i = 0; i < batchSize; i++) {
+            busDirect.post(event);
+        }
+    }
+
+    @Benchmark
+    public int manualLane() {
+        for (int i = 0; i < batchSize; i++) {
+            busLane.post(event);
+        }
+        return busLane.drain("main");
+    }
+}
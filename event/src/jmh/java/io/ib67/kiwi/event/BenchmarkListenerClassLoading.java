@@ -0,0 +1,288 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.api.annotation.SubscribeEvent;
+import io.ib67.kiwi.event.util.AsmListenerResolver;
+import io.ib67.kiwi.event.util.EventTuple;
+import io.ib67.kiwi.event.util.LambdaListenerResolver;
+import io.ib67.kiwi.event.util.ReflectionListenerResolver;
+import lombok.SneakyThrows;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup cost of registering the first instance of a listener class with many subscribers, where the handlers are
+ * created by each resolver. Reports the number of classes loaded and the growth of Metaspace as counters.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class BenchmarkListenerClassLoading {
+    record TestEventA() implements Event {
+        public static final TypeToken<TestEventA> TYPE = TypeToken.resolve(TestEventA.class);
+
+        @Override
+        public TypeToken<TestEventA> type() {
+            return TYPE;
+        }
+    }
+
+    @Param({"asm", "lambda", "reflection"})
+    public String resolver;
+
+    private EventBus bus;
+    private ManyListener listener;
+
+    @Setup(Level.Iteration)
+    @SneakyThrows
+    public void setup() {
+        bus = new HierarchyEventBus();
+        listener = new ManyListener();
+        register(new WarmupListener()); // load the resolver and the bus before measuring.
+    }
+
+    @Benchmark
+    public EventBus registerFirstInstance(LoadCounters counters) {
+        var classes = ManagementFactory.getClassLoadingMXBean();
+        long loaded = classes.getTotalLoadedClassCount();
+        long metaspace = metaspaceUsed();
+        register(listener);
+        counters.loadedClasses = classes.getTotalLoadedClassCount() - loaded;
+        counters.metaspaceBytes = metaspaceUsed() - metaspace;
+        return bus;
+    }
+
+    @SneakyThrows
+    private void register(EventListenerHost host) {
+        var lookup = MethodHandles.privateLookupIn(host.getClass(), MethodHandles.lookup());
+        var handlers = switch (resolver) {
+            case "lambda" -> new LambdaListenerResolver(lookup, host).resolveHandlers();
+            case "reflection" -> new ReflectionListenerResolver(lookup, host).resolveHandlers();
+            default -> new AsmListenerResolver(lookup, host).resolveHandlers();
+        };
+        for (var _entry : handlers) {
+            var entry = (EventTuple<Event>) _entry;
+            bus.register(entry.type(), entry.handler());
+        }
+    }
+
+    private static long metaspaceUsed() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.NON_HEAP && pool.getName().contains("Metaspace")) {
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class LoadCounters {
+        public long loadedClasses;
+        public long metaspaceBytes;
+    }
+
+    static class WarmupListener implements EventListenerHost {
+        @SubscribeEvent
+        public void onEvent(TestEventA event) {
+        }
+    }
+
+    static class ManyListener implements EventListenerHost {
+        @SubscribeEvent
+        public void onEvent0(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent1(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent2(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent3(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent4(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent5(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent6(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent7(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent8(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent9(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent10(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent11(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent12(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent13(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent14(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent15(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent16(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent17(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent18(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent19(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent20(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent21(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent22(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent23(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent24(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent25(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent26(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent27(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent28(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent29(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent30(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent31(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent32(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent33(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent34(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent35(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent36(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent37(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent38(TestEventA event) {
+        }
+
+        @SubscribeEvent
+        public void onEvent39(TestEventA event) {
+        }
+    }
+}
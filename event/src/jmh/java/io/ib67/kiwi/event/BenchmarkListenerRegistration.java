@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.api.annotation.SubscribeEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of registering many instances of the same listener class, dominated by handler resolution.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(3)
+public class BenchmarkListenerRegistration {
+    record TestEventA() implements Event {
+        public static final TypeToken<TestEventA> TYPE = TypeToken.resolve(TestEventA.class);
+
+        @Override
+        public TypeToken<TestEventA> type() {
+            return TYPE;
+        }
+    }
+
+    @Param({"10000"})
+    public int numInstances;
+
+    private SimpleListener[] listeners;
+    private EventBus bus;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        listeners = new SimpleListener[numInstances];
+        for (int i = 0; i < numInstances; i++) {
+            listeners[i] = new SimpleListener();
+        }
+        bus = new HierarchyEventBus();
+    }
+
+    @Benchmark
+    public EventBus registerInstances() {
+        for (SimpleListener listener : listeners) {
+            listener.registerTo(bus);
+        }
+        return bus;
+    }
+
+    static class SimpleListener implements EventListenerHost {
+        @SubscribeEvent
+        public void onEvent(TestEventA event) {
+            Blackhole.consumeCPU(10);
+        }
+    }
+}
@@ -32,12 +32,14 @@ import io.ib67.kiwi.event.api.EventListenerHost;
 import io.ib67.kiwi.event.api.annotation.SubscribeEvent;
 import io.ib67.kiwi.event.util.AsmListenerResolver;
 import io.ib67.kiwi.event.util.EventTuple;
+import io.ib67.kiwi.event.util.LambdaListenerResolver;
 import io.ib67.kiwi.event.util.ReflectionListenerResolver;
 import lombok.SneakyThrows;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 
 import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
 import java.util.concurrent.TimeUnit;
 
 @BenchmarkMode(Mode.AverageTime)
@@ -59,7 +61,10 @@ public class BenchmarkListenerResolvers {
     private TestEventA event;
     private EventBus busSimple;
     private EventBus busRuntimeGen;
+    private EventBus busRuntimeGenWeak;
     private EventBus busMethodHandle;
+    private EventBus busLambda;
+    private SimpleListener listenerHost; // weak handlers do nothing once it is collected.
 
     @Setup
     @SneakyThrows
@@ -67,29 +72,43 @@ public class BenchmarkListenerResolvers {
         event = new TestEventA();
         busSimple = new SimpleEventBus(numHandlers);
         busRuntimeGen = new SimpleEventBus(numHandlers);
+        busRuntimeGenWeak = new SimpleEventBus(numHandlers);
         busMethodHandle = new SimpleEventBus(numHandlers);
+        busLambda = new SimpleEventBus(numHandlers);
         for (int i = 0; i < numHandlers; i++) {
             busSimple.register(event.type(), this::handler);
         }
 
         var lookup = MethodHandles.privateLookupIn(SimpleListener.class, MethodHandles.lookup());
-        var listenerHost = new SimpleListener();
+        listenerHost = new SimpleListener();
+        var listenerReference = new WeakReference<EventListenerHost>(listenerHost);
         for (int i = 0; i < numHandlers; i++) {
             /*
-             * Duplicate multiple handlers to avoid inlining. Especially for codegen resolver
+             * Duplicate multiple handlers to avoid inlining.
+             * Codegen resolver shares one generated class per host class, just like registering many listener instances.
              */
             var handlersGen = new AsmListenerResolver(lookup, listenerHost).resolveHandlers();
+            var handlersWeak = AsmListenerResolver.resolveWeakHandlers(listenerHost, listenerReference);
             var handlersMH = new ReflectionListenerResolver(lookup, listenerHost).resolveHandlers();
+            var handlersLambda = new LambdaListenerResolver(lookup, listenerHost).resolveHandlers();
             ((EventHandler<TestEventA>) handlersGen.getFirst().handler()).handle(event);
             ((EventHandler<TestEventA>) handlersMH.getFirst().handler()).handle(event); // preload method handle
             for (var _entry : handlersGen) {
                 var entry = (EventTuple<Event>) _entry;
                 busRuntimeGen.register(entry.type(), entry.handler());
             }
+            for (var _entry : handlersWeak) {
+                var entry = (EventTuple<Event>) _entry;
+                busRuntimeGenWeak.register(entry.type(), entry.handler());
+            }
             for (var _entry : handlersMH) {
                 var entry = (EventTuple<Event>) _entry;
                 busMethodHandle.register(entry.type(), entry.handler());
             }
+            for (var _entry : handlersLambda) {
+                var entry = (EventTuple<Event>) _entry;
+                busLambda.register(entry.type(), entry.handler());
+            }
         }
     }
 
@@ -109,12 +128,24 @@ public class BenchmarkListenerResolvers {
         busRuntimeGen.post(event);
     }
 
+    @Benchmark
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    public void deliverEventCodeGenWeak() {
+        busRuntimeGenWeak.post(event);
+    }
+
     @Benchmark
     @CompilerControl(CompilerControl.Mode.DONT_INLINE)
     public void deliverEventMethodHandle() {
         busMethodHandle.post(event);
     }
 
+    @Benchmark
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    public void deliverEventLambda() {
+        busLambda.post(event);
+    }
+
     static class SimpleListener implements EventListenerHost {
         @SubscribeEvent
         public void onEvent(TestEventA event) {
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link RingBufferEventBus} with synchronous {@link HierarchyEventBus#post(Event)}.
+ * Producers are blocked when the ring is full, so the throughput of the ring bus is bounded by its consumer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BenchmarkRingBufferEventBus {
+    record TestEventA() implements Event {
+        public static final TypeToken<TestEventA> TYPE = TypeToken.resolve(TestEventA.class);
+
+        @Override
+        public TypeToken<TestEventA> type() {
+            return TYPE;
+        }
+    }
+
+    @Param({"10"})
+    public int numHandlers;
+
+    @Param({"1024"})
+    public int capacity;
+
+    @Param({"BUSY_SPIN", "YIELD", "PARK"})
+    public RingBufferEventBus.WaitStrategy waitStrategy;
+
+    private TestEventA event;
+    private EventBus syncBus;
+    private RingBufferEventBus ringBus;
+
+    @Setup
+    public void setup() {
+        event = new TestEventA();
+        syncBus = new HierarchyEventBus();
+        ringBus = new RingBufferEventBus(
+                new HierarchyEventBus(), capacity, waitStrategy,
+                RingBufferEventBus.OverflowPolicy.BLOCK, Executors.defaultThreadFactory()
+        ).start();
+        for (int i = 0; i < numHandlers; i++) {
+            syncBus.register(TestEventA.TYPE, this::handler);
+            ringBus.register(TestEventA.TYPE, this::handler);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        ringBus.close();
+    }
+
+    void handler(TestEventA event) {
+        Blackhole.consumeCPU(10);
+    }
+
+    @Benchmark
+    public boolean postSync() {
+        return syncBus.post(event);
+    }
+
+    @Benchmark
+    public boolean postRing() {
+        return ringBus.post(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean postRingContended() {
+        return ringBus.post(event);
+    }
+}
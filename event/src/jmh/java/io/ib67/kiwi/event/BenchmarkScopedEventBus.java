@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posts to scopes with and without local handlers, compared to posting to their parent, and creates scopes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BenchmarkScopedEventBus {
+    static final class TestEvent implements Event {
+    }
+
+    @Param({"20"})
+    public int numHandlers;
+
+    private EventBus parent;
+    private EventBus emptyScope;
+    private EventBus scope;
+    private final TestEvent event = new TestEvent();
+
+    @Setup
+    public void setup() {
+        parent = new HierarchyEventBus();
+        for (int i = 0; i < numHandlers; i++) {
+            parent.register(TestEvent.class, this::handle);
+        }
+        emptyScope = new ScopedEventBus(parent);
+        scope = new ScopedEventBus(parent);
+        scope.register(TestEvent.class, this::handle);
+    }
+
+    void handle(TestEvent event) {
+        Blackhole.consumeCPU(10);
+    }
+
+    @Benchmark
+    public boolean postToParent() {
+        return parent.post(event);
+    }
+
+    @Benchmark
+    public boolean postToEmptyScope() {
+        return emptyScope.post(event);
+    }
+
+    @Benchmark
+    public boolean postToScope() {
+        return scope.post(event);
+    }
+
+    @Benchmark
+    public EventBus createScope() {
+        return new ScopedEventBus(parent);
+    }
+}
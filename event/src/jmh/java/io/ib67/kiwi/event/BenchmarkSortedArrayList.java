@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.event.util.SortedArrayList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BenchmarkSortedArrayList {
+    record Entry(int priority) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::priority);
+
+    @Param({"1000", "50000"})
+    public int size;
+
+    private List<Entry> entries;
+    private SortedArrayList<Entry> filled;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(random.nextInt(32)));
+        }
+        filled = new SortedArrayList<>(size, ORDER);
+        filled.addAll(entries);
+    }
+
+    @Benchmark
+    public SortedArrayList<Entry> addOneByOne() {
+        var list = new SortedArrayList<>(16, ORDER);
+        for (Entry entry : entries) {
+            list.add(entry);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public SortedArrayList<Entry> addAll() {
+        var list = new SortedArrayList<>(16, ORDER);
+        list.addAll(entries);
+        return list;
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Entry entry : filled) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void iterateSnapshot(Blackhole bh) {
+        for (Object entry : filled.snapshot()) {
+            bh.consume(entry);
+        }
+    }
+}
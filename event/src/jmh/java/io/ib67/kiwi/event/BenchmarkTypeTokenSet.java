@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in a populated {@link TypeTokenSet} from multiple threads, the way signature caches are read when posting.
+ * A {@link ConcurrentHashMap} is the baseline. Throughput with different {@link Threads} shows how well each scales.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BenchmarkTypeTokenSet {
+    @Param({"16"})
+    public int numTypes;
+    private TypeToken<?>[] types;
+    private TypeTokenSet set;
+    private Map<TypeToken<?>, Boolean> map;
+
+    @Setup
+    public void setup() {
+        types = new TypeToken<?>[numTypes];
+        types[0] = TypeToken.resolve(String.class);
+        for (int i = 1; i < numTypes; i++) {
+            types[i] = new TypeToken<>(List.class, types[i - 1]);
+        }
+        set = new TypeTokenSet(16);
+        map = new ConcurrentHashMap<>(16);
+        for (int i = 0; i < numTypes; i++) {
+            set.put(types[i], i % 2 == 0);
+            map.put(types[i], i % 2 == 0);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        int next(int bound) {
+            var result = index;
+            index = result + 1 == bound ? 0 : result + 1;
+            return result;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Boolean getSet_1(Cursor cursor) {
+        return set.get(types[cursor.next(numTypes)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Boolean getSet_4(Cursor cursor) {
+        return set.get(types[cursor.next(numTypes)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Boolean getSet_max(Cursor cursor) {
+        return set.get(types[cursor.next(numTypes)]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Boolean getMap_1(Cursor cursor) {
+        return map.get(types[cursor.next(numTypes)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Boolean getMap_4(Cursor cursor) {
+        return map.get(types[cursor.next(numTypes)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Boolean getMap_max(Cursor cursor) {
+        return map.get(types[cursor.next(numTypes)]);
+    }
+}
@@ -28,6 +28,7 @@ import io.ib67.kiwi.TypeToken;
 import io.ib67.kiwi.event.api.Event;
 import io.ib67.kiwi.event.api.EventBus;
 import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.Subscription;
 import io.ib67.kiwi.event.util.SortedArrayList;
 import io.ib67.kiwi.routine.Interruption;
 
@@ -53,7 +54,13 @@ public class SimpleEventBus implements EventBus {
     }
 
     @Override
-    public <E extends Event> void register(TypeToken<E> type, EventHandler<E> handler) {
+    public <E extends Event> Subscription register(TypeToken<E> type, EventHandler<E> handler, Object owner) {
         handlers.add(handler);
+        return () -> handlers.remove(handler);
+    }
+
+    @Override
+    public void unregisterAll(Object owner) {
+        throw new UnsupportedOperationException();
     }
 }
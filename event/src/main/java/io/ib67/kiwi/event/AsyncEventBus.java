@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.api.Subscription;
+import io.ib67.kiwi.event.util.EventTuple;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An {@link EventBus} that can deliver events on an {@link ExecutorService}, so slow handlers don't add up to the
+ * latency of producers. Each event is delivered by a single task, hence handlers of one event still run in order and
+ * an {@link io.ib67.kiwi.routine.Interruption} stops the later ones like it does in {@link #post(Event)}.
+ * Handlers are stored in the delegated bus, which must support concurrent posting.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public class AsyncEventBus implements EventBus, AutoCloseable {
+    protected final EventBus delegate;
+    protected final ExecutorService executor;
+
+    /**
+     * @param delegate the bus to store handlers and deliver events
+     * @param executor where events are delivered. It will be shut down by {@link #close()}.
+     */
+    public AsyncEventBus(EventBus delegate, ExecutorService executor) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Creates a bus that starts a new virtual thread for every posted event. Suitable for handlers doing blocking IO.
+     *
+     * @return a new AsyncEventBus
+     */
+    public static AsyncEventBus ofVirtualThreads() {
+        return new AsyncEventBus(new CopyOnWriteEventBus(), Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Creates a bus that delivers events on a fixed pool of platform threads. Suitable for CPU-bound handlers.
+     *
+     * @param threads size of the pool
+     * @return a new AsyncEventBus
+     */
+    public static AsyncEventBus ofPlatformThreads(int threads) {
+        return new AsyncEventBus(new CopyOnWriteEventBus(), Executors.newFixedThreadPool(threads));
+    }
+
+    /**
+     * Delivers the event on the calling thread.
+     *
+     * @param event event to be posted
+     * @return false if any handlers cancelled the event
+     */
+    @Override
+    public boolean post(Event event) {
+        return delegate.post(event);
+    }
+
+    /**
+     * Delivers the event on the executor.
+     *
+     * @param event event to be posted
+     * @return a future completed with false if any handlers cancelled the event, or completed exceptionally if the
+     * delegated bus throws.
+     */
+    public CompletableFuture<Boolean> postAsync(Event event) {
+        Objects.requireNonNull(event);
+        return CompletableFuture.supplyAsync(() -> delegate.post(event), executor);
+    }
+
+    @Override
+    public <E extends Event> Subscription register(TypeToken<E> type, EventHandler<E> handler, Object owner) {
+        return delegate.register(type, handler, owner);
+    }
+
+    @Override
+    public <E extends Event, K> Subscription register(TypeToken<E> type, Function<? super E, ? extends K> keyExtractor, K key, EventHandler<E> handler, Object owner) {
+        return delegate.register(type, keyExtractor, key, handler, owner);
+    }
+
+    @Override
+    public Subscription registerWeakly(EventListenerHost host, Predicate<EventTuple<?>> filter) {
+        return delegate.registerWeakly(host, filter);
+    }
+
+    @Override
+    public void unregisterAll(Object owner) {
+        delegate.unregisterAll(owner);
+    }
+
+    /**
+     * Shuts down the executor. Events already posted will still be delivered.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Coalescable;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.api.Subscription;
+import io.ib67.kiwi.event.util.EventTuple;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An {@link EventBus} that holds back {@link Coalescable} events until the next {@link #flush()}, keeping only one
+ * event per type and {@link Coalescable#coalescingKey() key}. Bursts of events about the same thing, such as movements
+ * of an entity within a tick, reach the handlers only once. Other events are posted immediately.
+ * <p>
+ * Flushing can be driven by the caller, for example at the end of every tick, or done periodically on a scheduler.
+ * Pending events are posted in the order their keys first appeared. Anything thrown while posting one of them is
+ * reported to the uncaught exception handler of the flushing thread, and the rest are still posted.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public class CoalescingEventBus implements EventBus, AutoCloseable {
+    protected final EventBus delegate;
+    private final @Nullable ScheduledFuture<?> flushTask;
+    /**
+     * Events waiting for the next flush. Guarded by this.
+     */
+    private LinkedHashMap<Key, Coalescable<?>> pending = new LinkedHashMap<>();
+
+    /**
+     * Creates a bus which is flushed by the caller.
+     *
+     * @param delegate the bus to store handlers and deliver events
+     */
+    public CoalescingEventBus(EventBus delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.flushTask = null;
+    }
+
+    /**
+     * Creates a bus which is flushed periodically.
+     *
+     * @param delegate  the bus to store handlers and deliver events
+     * @param scheduler where pending events are flushed. It is not shut down by {@link #close()}.
+     * @param window    how long events are held back at most
+     */
+    public CoalescingEventBus(EventBus delegate, ScheduledExecutorService scheduler, Duration window) {
+        this.delegate = Objects.requireNonNull(delegate);
+        var nanos = window.toNanos();
+        this.flushTask = scheduler.scheduleAtFixedRate(this::flush, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Posts the event immediately, or holds it back until the next flush if it is {@link Coalescable}.
+     *
+     * @param event event to be posted
+     * @return false if any handlers cancelled the event. Always true for events that are held back.
+     */
+    @Override
+    public boolean post(Event event) {
+        if (!(event instanceof Coalescable<?> coalescable)) {
+            return delegate.post(event);
+        }
+        var key = new Key(event.type(), coalescable.coalescingKey());
+        synchronized (this) {
+            pending.merge(key, coalescable, CoalescingEventBus::coalesce);
+        }
+        return true;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Coalescable<?> coalesce(Coalescable<?> older, Coalescable<?> newer) {
+        return (Coalescable<?>) ((Coalescable) older).coalesce(newer);
+    }
+
+    /**
+     * Posts pending events to the delegated bus.
+     *
+     * @return number of events posted
+     */
+    public int flush() {
+        LinkedHashMap<Key, Coalescable<?>> events;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            events = pending;
+            pending = new LinkedHashMap<>();
+        }
+        for (Coalescable<?> event : events.values()) {
+            try {
+                delegate.post(event);
+            } catch (Throwable t) { // must not drop the rest of the batch, or cancel the periodic flush.
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+            }
+        }
+        return events.size();
+    }
+
+    /**
+     * @return number of events waiting for the next flush
+     */
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public <E extends Event> Subscription register(TypeToken<E> type, EventHandler<E> handler, Object owner) {
+        return delegate.register(type, handler, owner);
+    }
+
+    @Override
+    public <E extends Event, K> Subscription register(TypeToken<E> type, Function<? super E, ? extends K> keyExtractor, K key, EventHandler<E> handler, Object owner) {
+        return delegate.register(type, keyExtractor, key, handler, owner);
+    }
+
+    @Override
+    public Subscription registerWeakly(EventListenerHost host, Predicate<EventTuple<?>> filter) {
+        return delegate.registerWeakly(host, filter);
+    }
+
+    @Override
+    public void unregisterAll(Object owner) {
+        delegate.unregisterAll(owner);
+    }
+
+    /**
+     * Stops flushing periodically, then flushes the pending events.
+     */
+    @Override
+    public void close() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        flush();
+    }
+
+    protected record Key(TypeToken<?> type, Object key) {
+    }
+}
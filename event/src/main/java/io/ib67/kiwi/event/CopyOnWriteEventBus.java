@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.ExceptionPolicy;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A {@link HierarchyEventBus} whose {@link #post(Event)} never takes a lock.
+ * The bus hierarchy is published as an immutable snapshot through a volatile field, so posting is just a volatile
+ * read followed by a walk over the dispatch plan of that snapshot. Registrations build a new snapshot under the write
+ * lock, which makes them more expensive than those of {@link HierarchyEventBus} but never blocks posting threads. Prefer this one when events are posted from many threads and handlers are mostly
+ * registered up-front.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public class CopyOnWriteEventBus extends HierarchyEventBus {
+    /**
+     * Frozen copies of the live busses, keyed by the live bus. Guarded by the write lock.
+     */
+    private final Map<EventBus, EventBus> frozenBusses = new IdentityHashMap<>();
+    protected volatile Snapshot snapshot;
+
+    /**
+     * @param busses frozen busses
+     * @param plans  dispatch plans created from the frozen busses
+     */
+    protected record Snapshot(
+            Map<Class<?>, EventBus> busses,
+            Map<TypeToken<?>, EventHandler<Event>[]> plans
+    ) {
+    }
+
+    public CopyOnWriteEventBus() {
+        this(ExceptionPolicy.CONTINUE);
+    }
+
+    /**
+     * @param exceptionHandler called when a handler throws, see {@link ExceptionPolicy}.
+     */
+    public CopyOnWriteEventBus(Predicate<Exception> exceptionHandler) {
+        this(exceptionHandler, false);
+    }
+
+    /**
+     * @param exceptionHandler   called when a handler throws, see {@link ExceptionPolicy}.
+     * @param compileDispatchers compiles each dispatch plan into hidden classes, see {@link HierarchyEventBus}.
+     */
+    public CopyOnWriteEventBus(Predicate<Exception> exceptionHandler, boolean compileDispatchers) {
+        super(exceptionHandler, compileDispatchers);
+        writeLock.lock();
+        try {
+            publish();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean post(Event event) {
+        var snapshot = this.snapshot;
+        return dispatch(lookupPlan(snapshot.plans, snapshot.busses, event.type()), event);
+    }
+
+    @Override
+    EventHandler<Event>[] dispatchPlan(TypeToken<?> type) {
+        var snapshot = this.snapshot;
+        return lookupPlan(snapshot.plans, snapshot.busses, type);
+    }
+
+    @Override
+    EventHandler<Event>[] plannedHandlers(TypeToken<?> type, EventHandler<Event>[] plan) {
+        return dispatcherCompiler == null ? plan : flattenHandlers(snapshot.busses, type);
+    }
+
+    @Override
+    protected void onBusModified(EventBus bus) {
+        frozenBusses.put(bus, ((TypeAwareBus) bus).snapshot());
+    }
+
+    @Override
+    protected void invalidatePlans() {
+        publish();
+    }
+
+    /**
+     * Frozen busses share handlers with the live ones, so hidden handlers are left out of new plans of the current
+     * snapshot as well.
+     */
+    @Override
+    protected void discardPlans() {
+        snapshot.plans.clear();
+    }
+
+    /**
+     * Publishes frozen busses along with empty dispatch plans.
+     * Must be called with the write lock held.
+     * Busses without a frozen copy are copied here, the others are shared with the previous snapshot.
+     */
+    protected void publish() {
+        var newSnapshot = new HashMap<Class<?>, EventBus>(busses.size());
+        for (var entry : busses.entrySet()) {
+            newSnapshot.put(entry.getKey(), frozenBusses.computeIfAbsent(entry.getValue(), it -> ((TypeAwareBus) it).snapshot()));
+        }
+        snapshot = new Snapshot(Map.copyOf(newSnapshot), new ConcurrentHashMap<>());
+    }
+}
@@ -25,78 +25,741 @@
 package io.ib67.kiwi.event;
 
 import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Cancellable;
 import io.ib67.kiwi.event.api.Event;
 import io.ib67.kiwi.event.api.EventBus;
 import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.api.ExceptionPolicy;
+import io.ib67.kiwi.event.api.Subscription;
+import io.ib67.kiwi.event.jfr.DispatchPlanRebuilt;
+import io.ib67.kiwi.event.jfr.EventPosted;
+import io.ib67.kiwi.event.jfr.HandlerInvoked;
+import io.ib67.kiwi.event.util.AsmDispatcherCompiler;
+import io.ib67.kiwi.event.util.AsmListenerResolver;
+import io.ib67.kiwi.event.util.EventTuple;
+import io.ib67.kiwi.event.util.ForwardingHandler;
+import io.ib67.kiwi.routine.Interruption;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Type;
-import java.util.Deque;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * An implementation of EventBus that supports delivering events along with the class hierarchy.
+ * On the first post of a type, handlers from every level of its hierarchy are flattened into a dispatch plan, which is
+ * then reused until the next registration. Optionally, the plan can be compiled into bytecode.
+ * <p>
+ * The hierarchy includes every superclass and superinterface of the event class up to {@link Event}, so an event
+ * implementing several event interfaces reaches handlers of all of them. See {@link #linearize(Class)}.
+ * <p>
+ * Posting holds the read lock, so handlers can't register to the same bus, and owners they unregister are removed
+ * after the post returns. {@link CopyOnWriteEventBus} allows both during posting.
+ * <p>
+ * Cancelling a {@link Subscription} takes no lock and never waits for posting threads. The handler is hidden from new
+ * dispatch plans at once, and removed from its bus at the next modification.
  */
 @ApiStatus.AvailableSince("1.0.0")
 public class HierarchyEventBus implements EventBus {
-    protected record ChainedBus(EventBus bus, ChainedBus parent) {
-    }
+    @SuppressWarnings("unchecked")
+    protected static final EventHandler<Event>[] EMPTY_PLAN = new EventHandler[0];
+
+    /**
+     * Linearized hierarchies of event classes, see {@link #linearize(Class)}.
+     */
+    protected static final ClassValue<Class<?>[]> LINEARIZATIONS = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            var result = new ArrayList<Class<?>>();
+            linearize(type, new HashSet<>(), result);
+            return result.reversed().toArray(Class<?>[]::new);
+        }
+    };
 
-    protected final Map<TypeToken<?>, ChainedBus> busses = new HashMap<>();
+    /**
+     * Busses of handlers, keyed by the raw class of their event type. Guarded by the write lock.
+     */
+    protected final Map<Class<?>, EventBus> busses = new HashMap<>();
+    /**
+     * Cached dispatch plans keyed by the type of posted events. Cleared on every registration.
+     */
+    protected final Map<TypeToken<?>, EventHandler<Event>[]> dispatchPlans = new ConcurrentHashMap<>();
+    /**
+     * Subscriptions grouped by their owner. Guarded by the write lock.
+     */
+    protected final Map<Object, Set<HandlerSubscription>> owners = new IdentityHashMap<>();
+    /**
+     * Indexes of keyed handlers, grouped by their type, key extractor and priority. Guarded by the write lock.
+     */
+    protected final Map<IndexGroup, KeyIndex> keyIndexes = new HashMap<>();
+    /**
+     * Weakly registered hosts, which own their handlers. Guarded by the write lock.
+     */
+    protected final Set<HostReference> weakHosts = new HashSet<>();
+    /**
+     * Receives hosts in {@link #weakHosts} once they are collected. Drained with the write lock held before modifications.
+     */
+    protected final ReferenceQueue<EventListenerHost> collectedHosts = new ReferenceQueue<>();
+    protected final Predicate<Exception> exceptionHandler;
+    /**
+     * Compiles dispatch plans into straight-line code if present.
+     */
+    protected final @Nullable AsmDispatcherCompiler dispatcherCompiler;
     protected final Lock readLock;
     protected final Lock writeLock;
+    private final ReentrantReadWriteLock lock;
+    /**
+     * Removals requested by handlers during {@link #post(Event)}, which cannot take the write lock while the read lock
+     * is held. They are applied when the outermost post of the thread returns.
+     */
+    private final Queue<Runnable> deferredRemovals = new ConcurrentLinkedQueue<>();
+    /**
+     * Cancelled subscriptions whose handlers are hidden but not removed yet. Drained with the write lock held before
+     * modifications.
+     */
+    private final Queue<HandlerSubscription> cancelledSubscriptions = new ConcurrentLinkedQueue<>();
+    /**
+     * Number of cancelled subscriptions, which tells whether a dispatch plan was created during a cancellation.
+     */
+    private final AtomicLong cancellations = new AtomicLong();
 
     public HierarchyEventBus() {
+        this(ExceptionPolicy.CONTINUE);
+    }
+
+    /**
+     * @param exceptionHandler called when a handler throws, see {@link ExceptionPolicy}.
+     */
+    public HierarchyEventBus(Predicate<Exception> exceptionHandler) {
+        this(exceptionHandler, false);
+    }
+
+    /**
+     * @param exceptionHandler   called when a handler throws, see {@link ExceptionPolicy}.
+     * @param compileDispatchers compiles each dispatch plan into hidden classes with {@link AsmDispatcherCompiler}.
+     *                           Speeds up hot events, at the cost of generating classes after every registration.
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    public HierarchyEventBus(Predicate<Exception> exceptionHandler, boolean compileDispatchers) {
+        this.exceptionHandler = exceptionHandler;
+        this.dispatcherCompiler = compileDispatchers ? new AsmDispatcherCompiler() : null;
         var eventType = TypeToken.resolve(Event.class);
-        var lock = new ReentrantReadWriteLock();
+        lock = new ReentrantReadWriteLock();
         readLock = lock.readLock();
         writeLock = lock.writeLock();
 
-        busses.put(eventType, new ChainedBus(createBus(eventType), null));
+        busses.put(Event.class, createBus(eventType));
     }
 
     @Override
     public boolean post(Event event) {
         readLock.lock();
         try {
-            var chain = busses.get(event.type());
-            while (chain != null) {
-                if (!chain.bus.post(event)) {
+            return dispatch(lookupPlan(dispatchPlans, busses, event.type()), event);
+        } finally {
+            readLock.unlock();
+            if (!deferredRemovals.isEmpty() && !isPosting()) {
+                Runnable removal;
+                while ((removal = deferredRemovals.poll()) != null) {
+                    removal.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the cached dispatch plan of the type, or creates one. A plan created while a subscription is cancelled
+     * may still contain its handler, so it is used once and not cached.
+     *
+     * @param plans  cached dispatch plans
+     * @param busses the busses to look up, keyed by raw classes
+     * @param type   the type of posted events
+     * @return handlers to be called in order
+     */
+    protected EventHandler<Event>[] lookupPlan(Map<TypeToken<?>, EventHandler<Event>[]> plans, Map<Class<?>, EventBus> busses, TypeToken<?> type) {
+        var plan = plans.get(type);
+        if (plan == null) {
+            var cancellations = this.cancellations.get();
+            plan = plans.computeIfAbsent(type, it -> createDispatchPlan(busses, it));
+            if (this.cancellations.get() != cancellations) {
+                plans.remove(type, plan);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * @return true if the current thread is in {@link #post(Event)} of this bus, where the write lock can't be taken.
+     */
+    private boolean isPosting() {
+        return lock.getReadHoldCount() > 0;
+    }
+
+    private void checkNotPosting() {
+        if (isPosting()) {
+            throw new IllegalStateException("Handlers can't be registered to a HierarchyEventBus while posting, use CopyOnWriteEventBus instead");
+        }
+    }
+
+    protected boolean dispatch(EventHandler<Event>[] plan, Event event) {
+        var posted = new EventPosted();
+        posted.begin();
+        var delivered = deliver(plan, event);
+        if (posted.shouldCommit()) {
+            posted.eventType = event.type().toString();
+            posted.handlers = plan.length;
+            posted.cancelled = !delivered;
+            posted.commit();
+        }
+        return delivered;
+    }
+
+    private boolean deliver(EventHandler<Event>[] plan, Event event) {
+        var cancellable = event instanceof Cancellable c ? c : null;
+        var compiled = dispatcherCompiler != null; // compiled dispatchers emit HandlerInvoked for their handlers.
+        for (int i = 0; i < plan.length; i++) {
+            if (cancellable != null && cancellable.isCancelled()) {
+                return false;
+            }
+            try {
+                if (compiled) {
+                    plan[i].handle(event);
+                } else {
+                    invoke(plan[i], event);
+                }
+            } catch (Interruption ignored) {
+                return false;
+            } catch (Exception e) {
+                if (!exceptionHandler.test(e)) {
                     return false;
                 }
-                chain = chain.parent;
             }
-            return true;
-        }finally {
+        }
+        return cancellable == null || !cancellable.isCancelled();
+    }
+
+    private static void invoke(EventHandler<Event> handler, Event event) throws Interruption {
+        var invoked = HandlerInvoked.start();
+        try {
+            handler.handle(event);
+        } finally {
+            invoked.end(handler, event);
+        }
+    }
+
+    /**
+     * Flattens matching handlers from every level of the type, in the order of {@link #linearize(Class)}.
+     * Handlers of subtypes come first, and handlers at the same level are ordered by their priority.
+     *
+     * @param busses the busses to look up, keyed by raw classes
+     * @param type   the type of posted events
+     * @return handlers to be called in order
+     */
+    protected EventHandler<Event>[] createDispatchPlan(Map<Class<?>, EventBus> busses, TypeToken<?> type) {
+        var rebuilt = new DispatchPlanRebuilt();
+        rebuilt.begin();
+        var handlers = flattenHandlers(busses, type);
+        var plan = dispatcherCompiler == null || handlers.length == 0 ? handlers : dispatcherCompiler.compile(handlers, exceptionHandler);
+        if (rebuilt.shouldCommit()) {
+            rebuilt.eventType = type.toString();
+            rebuilt.handlers = handlers.length;
+            rebuilt.compiled = plan != handlers;
+            rebuilt.commit();
+        }
+        return plan;
+    }
+
+    @SuppressWarnings("unchecked")
+    EventHandler<Event>[] flattenHandlers(Map<Class<?>, EventBus> busses, TypeToken<?> type) {
+        var handlers = new ArrayList<EventHandler<?>>();
+        for (Class<?> level : LINEARIZATIONS.get(type.getBaseTypeRaw())) {
+            var bus = busses.get(level);
+            if (bus != null) {
+                ((TypeAwareBus) bus).collectHandlers(type, handlers);
+            }
+        }
+        if (handlers.isEmpty()) {
+            return EMPTY_PLAN;
+        }
+        return handlers.toArray(EventHandler[]::new);
+    }
+
+    /**
+     * @param type type of posted events
+     * @return true if events of the type would reach any handler, including keyed handlers of other keys.
+     */
+    boolean hasHandlers(TypeToken<?> type) {
+        return dispatchPlan(type).length != 0;
+    }
+
+    /**
+     * @param type type of posted events
+     * @return the dispatch plan of the type, which is replaced by a new one whenever handlers reaching it change.
+     */
+    EventHandler<Event>[] dispatchPlan(TypeToken<?> type) {
+        readLock.lock();
+        try {
+            return lookupPlan(dispatchPlans, busses, type);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * @param type type of posted events
+     * @param plan the dispatch plan of the type
+     * @return handlers called by the plan in order, which are the plan itself unless it's compiled.
+     */
+    EventHandler<Event>[] plannedHandlers(TypeToken<?> type, EventHandler<Event>[] plan) {
+        if (dispatcherCompiler == null) {
+            return plan;
+        }
+        readLock.lock();
+        try {
+            return flattenHandlers(busses, type);
+        } finally {
             readLock.unlock();
         }
     }
 
     TypeAwareBus createBus(TypeToken<?> type) {
-        return new TypeAwareBus(4);
+        return new TypeAwareBus(4, exceptionHandler);
+    }
+
+    /**
+     * Returns the bus of handlers registered on the raw class of the type, such that handlers of {@code Foo<A>} and
+     * {@code Foo<B>} share a bus, and are told apart by their types. Called with the write lock held.
+     */
+    protected EventBus locateBusOrCreate(TypeToken<?> typeToken) {
+        return busses.computeIfAbsent(typeToken.getBaseTypeRaw(), it -> createBus(typeToken));
+    }
+
+    /**
+     * Returns the event class along with all of its superclasses and superinterfaces that are {@link Event}s, each
+     * once. Every type precedes its supertypes, the superclass comes before interfaces declared by the class itself,
+     * and interfaces keep their declaration order. The result is cached per class.
+     *
+     * @param eventClass class of events
+     * @return the linearized hierarchy, which must not be modified
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    public static Class<?>[] linearize(Class<?> eventClass) {
+        return LINEARIZATIONS.get(eventClass);
     }
 
-    protected ChainedBus locateBusOrCreate(Deque<Type> deque, TypeToken<?> typeToken) {
-        var chain = busses.get(typeToken);
-        if (chain != null) {
-            return chain;
+    /**
+     * Appends supertypes in post-order, visiting interfaces in the reverse declaration order and the superclass last,
+     * so that the reversed result is the order of {@link #linearize(Class)}.
+     */
+    private static void linearize(Class<?> type, Set<Class<?>> visited, List<Class<?>> result) {
+        if (type == null || !Event.class.isAssignableFrom(type) || !visited.add(type)) {
+            return;
         }
-        chain = new ChainedBus(createBus(typeToken), locateBusOrCreate(deque, TypeToken.resolve(deque.pop())));
-        busses.put(typeToken, chain);
-        return chain;
+        var interfaces = type.getInterfaces();
+        for (int i = interfaces.length - 1; i >= 0; i--) {
+            linearize(interfaces[i], visited, result);
+        }
+        linearize(type.getSuperclass(), visited, result);
+        result.add(type);
     }
 
     @Override
-    public <E extends Event> void register(TypeToken<E> type, EventHandler<E> handler) {
+    public <E extends Event> Subscription register(TypeToken<E> type, EventHandler<E> handler, Object owner) {
+        checkNotPosting();
         writeLock.lock();
-        try{
-            var bus = locateBusOrCreate(type.pathToSuper(true, Event.class), type);
-            bus.bus().register(type, handler);
-        }finally {
+        try {
+            purgeCollectedHosts();
+            var bus = locateBusOrCreate(type);
+            var entry = (TypeAwareBus.HandlerEntry<?>) bus.register(type, handler, owner);
+            var subscription = new HandlerSubscription(bus, entry::hide, null, owner);
+            if (owner != null) {
+                owners.computeIfAbsent(owner, it -> new HashSet<>()).add(subscription);
+            }
+            onBusModified(bus);
+            invalidatePlans();
+            return subscription;
+        } finally {
             writeLock.unlock();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Keyed handlers of the same type, key extractor and priority share a {@link KeyIndex}, which is registered as a
+     * single handler and looks up handlers of the key when called. Among handlers with the same priority, they run
+     * at the position of the first of them.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E extends Event, K> Subscription register(TypeToken<E> type, Function<? super E, ? extends K> keyExtractor, K key, EventHandler<E> handler, Object owner) {
+        Objects.requireNonNull(keyExtractor);
+        Objects.requireNonNull(key);
+        checkNotPosting();
+        writeLock.lock();
+        try {
+            purgeCollectedHosts();
+            var bus = locateBusOrCreate(type);
+            var group = new IndexGroup(type, keyExtractor, handler.priority());
+            var index = keyIndexes.get(group);
+            if (index == null) {
+                var newIndex = new KeyIndex((Function<Object, ?>) keyExtractor, handler.priority());
+                newIndex.entry = (TypeAwareBus.HandlerEntry<?>) bus.register((TypeToken<Event>) (TypeToken<?>) type, newIndex, null);
+                keyIndexes.put(group, newIndex);
+                index = newIndex;
+            }
+            var eventHandler = (EventHandler<Event>) handler;
+            index.add(key, eventHandler);
+            var keyIndex = index;
+            var subscription = new HandlerSubscription(bus, () -> keyIndex.remove(key, eventHandler), () -> {
+                if (keyIndex.isEmpty() && keyIndexes.get(group) == keyIndex) {
+                    keyIndex.entry.hide();
+                    keyIndexes.remove(group);
+                }
+            }, owner);
+            if (owner != null) {
+                owners.computeIfAbsent(owner, it -> new HashSet<>()).add(subscription);
+            }
+            onBusModified(bus);
+            invalidatePlans();
+            return subscription;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * The host is held by a {@link HostReference}, and its handlers are removed at the next modification of this bus
+     * after it is collected. {@link #unregisterAll(Object)} with the host also removes them.
+     */
+    @Override
+    public Subscription registerWeakly(EventListenerHost host, Predicate<EventTuple<?>> filter) {
+        var reference = new HostReference(host, collectedHosts);
+        var handlers = new ArrayList<EventTuple<?>>();
+        for (EventTuple<?> tuple : AsmListenerResolver.resolveWeakHandlers(host, reference)) {
+            if (filter.test(tuple)) {
+                handlers.add(tuple);
+            }
+        }
+        return registerWeakly(reference, handlers);
+    }
+
+    /**
+     * Registers handlers of a host that were resolved weakly by another bus, so that the host is resolved only once.
+     * This bus holds the host by its own {@link HostReference}, which is cleared along with the one of the handlers.
+     *
+     * @param host     the listener host
+     * @param handlers handlers of the host holding it weakly
+     * @return a subscription that removes the handlers.
+     */
+    Subscription registerWeakly(EventListenerHost host, List<EventTuple<?>> handlers) {
+        return registerWeakly(new HostReference(host, collectedHosts), handlers);
+    }
+
+    private Subscription registerWeakly(HostReference reference, List<EventTuple<?>> handlers) {
+        if (handlers.isEmpty()) {
+            return () -> {
+            };
+        }
+        checkNotPosting();
+        writeLock.lock();
+        try {
+            weakHosts.add(reference);
+            for (EventTuple<?> tuple : handlers) {
+                var _t = (EventTuple<Event>) tuple;
+                register(_t.type(), _t.handler(), reference);
+            }
+            return () -> unregisterAll(reference);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void unregisterAll(Object owner) {
+        if (isPosting()) {
+            deferredRemovals.add(() -> unregisterAll(owner));
+            return;
+        }
+        writeLock.lock();
+        try {
+            purgeCollectedHosts();
+            removeOwner(owner);
+            if (owner instanceof EventListenerHost && !weakHosts.isEmpty()) {
+                for (HostReference reference : List.copyOf(weakHosts)) {
+                    if (reference.get() == owner) {
+                        removeOwner(reference);
+                    }
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes handlers of cancelled subscriptions and of weakly registered hosts that have been collected.
+     * Called with the write lock held.
+     */
+    protected void purgeCollectedHosts() {
+        if (!cancelledSubscriptions.isEmpty()) {
+            var modifiedBusses = Collections.newSetFromMap(new IdentityHashMap<EventBus, Boolean>());
+            HandlerSubscription subscription;
+            while ((subscription = cancelledSubscriptions.poll()) != null) {
+                subscription.removeFromOwner();
+                subscription.remove();
+                modifiedBusses.add(subscription.bus);
+            }
+            compact(modifiedBusses);
+        }
+        Reference<?> reference;
+        while ((reference = collectedHosts.poll()) != null) {
+            removeOwner(reference);
+        }
+    }
+
+    private void removeOwner(Object owner) {
+        if (owner instanceof HostReference reference) {
+            weakHosts.remove(reference);
+        }
+        var subscriptions = owners.remove(owner);
+        if (subscriptions == null) {
+            return;
+        }
+        var modifiedBusses = Collections.newSetFromMap(new IdentityHashMap<EventBus, Boolean>());
+        for (HandlerSubscription subscription : subscriptions) {
+            if (subscription.hide()) {
+                subscription.remove();
+                modifiedBusses.add(subscription.bus);
+            }
+        }
+        compact(modifiedBusses);
+    }
+
+    /**
+     * Removes hidden handlers from the busses in one pass per bus.
+     */
+    private void compact(Set<EventBus> modifiedBusses) {
+        if (modifiedBusses.isEmpty()) {
+            return;
+        }
+        for (EventBus bus : modifiedBusses) {
+            ((TypeAwareBus) bus).compact();
+            onBusModified(bus);
+        }
+        invalidatePlans();
+    }
+
+    /**
+     * Called with the write lock held after handlers of a bus are added or removed.
+     *
+     * @param bus the modified bus
+     */
+    protected void onBusModified(EventBus bus) {
+    }
+
+    /**
+     * Called with the write lock held at the end of every modification, after {@link #onBusModified(EventBus)}.
+     */
+    protected void invalidatePlans() {
+        dispatchPlans.clear();
+    }
+
+    /**
+     * Called without locks after a subscription is cancelled, and must drop every cached dispatch plan.
+     */
+    protected void discardPlans() {
+        dispatchPlans.clear();
+    }
+
+    protected final class HandlerSubscription implements Subscription {
+        private final EventBus bus;
+        private final AtomicBoolean hidden = new AtomicBoolean();
+        /**
+         * Hides the handler from new dispatch plans. Thread-safe.
+         */
+        private final Runnable hide;
+        /**
+         * Cleans up after the handler is hidden, with the write lock held. Nullable.
+         */
+        private final Runnable cleanup;
+        private final Object owner;
+
+        HandlerSubscription(EventBus bus, Runnable hide, @Nullable Runnable cleanup, Object owner) {
+            this.bus = bus;
+            this.hide = hide;
+            this.cleanup = cleanup;
+            this.owner = owner;
+        }
+
+        /**
+         * Hides the handler without taking a lock, so it is not called by posts starting afterward. It is removed from
+         * its bus at the next modification.
+         */
+        @Override
+        public void cancel() {
+            if (hide()) {
+                cancellations.incrementAndGet();
+                discardPlans();
+                cancelledSubscriptions.add(this);
+            }
+        }
+
+        /**
+         * @return true if the handler was hidden by this call.
+         */
+        private boolean hide() {
+            if (!hidden.compareAndSet(false, true)) {
+                return false;
+            }
+            hide.run();
+            return true;
+        }
+
+        /**
+         * Cleans up after the hidden handler. Called with the write lock held.
+         */
+        private void remove() {
+            if (cleanup != null) {
+                cleanup.run();
+            }
+        }
+
+        /**
+         * Called with the write lock held.
+         */
+        private void removeFromOwner() {
+            if (owner == null) {
+                return;
+            }
+            var subscriptions = owners.get(owner);
+            if (subscriptions != null && subscriptions.remove(this) && subscriptions.isEmpty()) {
+                owners.remove(owner);
+                if (owner instanceof HostReference reference) {
+                    weakHosts.remove(reference);
+                }
+            }
+        }
+    }
+
+    /**
+     * A weak reference to a host, which owns the handlers of the host.
+     */
+    protected static final class HostReference extends WeakReference<EventListenerHost> {
+        HostReference(EventListenerHost host, ReferenceQueue<? super EventListenerHost> queue) {
+            super(host, queue);
+        }
+    }
+
+    protected record IndexGroup(TypeToken<?> type, Function<?, ?> keyExtractor, int priority) {
+    }
+
+    /**
+     * Handlers of one {@link IndexGroup}, keyed by the key they are registered with.
+     * Modified with its monitor held, and read without locks. Emits {@link HandlerInvoked} for each handler it calls.
+     */
+    protected final class KeyIndex implements ForwardingHandler<Event> {
+        private final Function<Object, ?> keyExtractor;
+        private final int priority;
+        private final Map<Object, EventHandler<Event>[]> handlers = new ConcurrentHashMap<>();
+        private int size;
+        private TypeAwareBus.HandlerEntry<?> entry;
+
+        KeyIndex(Function<Object, ?> keyExtractor, int priority) {
+            this.keyExtractor = keyExtractor;
+            this.priority = priority;
+        }
+
+        @Override
+        public void handle(Event event) throws Interruption {
+            var key = keyExtractor.apply(event);
+            if (key == null) {
+                return;
+            }
+            var matched = handlers.get(key);
+            if (matched == null) {
+                return;
+            }
+            var cancellable = event instanceof Cancellable c ? c : null;
+            for (EventHandler<Event> handler : matched) {
+                if (cancellable != null && cancellable.isCancelled()) {
+                    return;
+                }
+                try {
+                    invoke(handler, event);
+                } catch (Interruption interruption) {
+                    throw interruption;
+                } catch (Exception e) {
+                    if (!exceptionHandler.test(e)) {
+                        throw Interruption.INTERRUPTION;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+
+        @Override
+        public @Nullable EventHandler<Event> delegate() {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized void add(Object key, EventHandler<Event> handler) {
+            var existing = handlers.get(key);
+            EventHandler<Event>[] updated;
+            if (existing == null) {
+                updated = new EventHandler[]{handler};
+            } else {
+                updated = Arrays.copyOf(existing, existing.length + 1);
+                updated[existing.length] = handler;
+            }
+            handlers.put(key, updated);
+            size++;
+        }
+
+        synchronized boolean isEmpty() {
+            return size == 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized void remove(Object key, EventHandler<Event> handler) {
+            var existing = handlers.get(key);
+            for (int i = 0; existing != null && i < existing.length; i++) {
+                if (existing[i] != handler) continue;
+                if (existing.length == 1) {
+                    handlers.remove(key);
+                } else {
+                    var updated = new EventHandler[existing.length - 1];
+                    System.arraycopy(existing, 0, updated, 0, i);
+                    System.arraycopy(existing, i + 1, updated, i, existing.length - i - 1);
+                    handlers.put(key, updated);
+                }
+                size--;
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Cancellable;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.api.ExceptionPolicy;
+import io.ib67.kiwi.event.api.Subscription;
+import io.ib67.kiwi.event.util.EventTuple;
+import io.ib67.kiwi.routine.Interruption;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An {@link EventBus} that runs handlers on the lane named by {@link EventHandler#lane()}, such as the main thread of
+ * a game, a pool for blocking IO or one for computation. Handlers without a lane run on the posting thread.
+ * <p>
+ * Each lane keeps its handlers in its own {@link CopyOnWriteEventBus}. After handlers on the posting thread, an event
+ * is queued once for each lane that has handlers for it, so events reach each lane in the order they are posted.
+ * The lane posts it to its bus, which calls the handlers in the order of its dispatch plan. A lane is drained in bulk
+ * by one task on its executor, which is only submitted when the lane was idle. Events of a {@link #MANUAL} lane are
+ * delivered by {@link #drain(String)} instead, like once per tick on the main thread.
+ * <p>
+ * Lane handlers run after the event is posted, so they cannot cancel it for handlers on the posting thread or other
+ * lanes. Events cancelled on the posting thread are not queued. An {@link Interruption}, a cancelled
+ * {@link Cancellable} or an exception aborted by the exception handler only skips the later handlers of the event on
+ * the same lane. Events already queued are delivered to the handlers registered when they are drained.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public class LaneEventBus implements EventBus {
+    /**
+     * An executor for lanes that are drained by {@link #drain(String)}.
+     */
+    public static final Executor MANUAL = command -> {
+        throw new UnsupportedOperationException("Manual lanes are drained by LaneEventBus.drain");
+    };
+
+    protected final EventBus delegate;
+    protected final Map<String, Lane> lanes;
+    protected final Predicate<Exception> exceptionHandler;
+    private final Lane[] laneArray;
+
+    /**
+     * @param delegate the bus to store handlers and deliver events on the posting thread
+     * @param lanes    executors of lanes, keyed by their names. Use {@link #MANUAL} for lanes drained by {@link #drain(String)}.
+     */
+    public LaneEventBus(EventBus delegate, Map<String, ? extends Executor> lanes) {
+        this(delegate, lanes, ExceptionPolicy.CONTINUE);
+    }
+
+    /**
+     * @param delegate         the bus to store handlers and deliver events on the posting thread
+     * @param lanes            executors of lanes, keyed by their names. Use {@link #MANUAL} for lanes drained by {@link #drain(String)}.
+     * @param exceptionHandler called when a lane handler throws, see {@link ExceptionPolicy}.
+     */
+    public LaneEventBus(EventBus delegate, Map<String, ? extends Executor> lanes, Predicate<Exception> exceptionHandler) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.exceptionHandler = Objects.requireNonNull(exceptionHandler);
+        var result = new HashMap<String, Lane>(lanes.size());
+        lanes.forEach((name, executor) -> result.put(name, new Lane(name, Objects.requireNonNull(executor))));
+        this.lanes = Map.copyOf(result);
+        this.laneArray = this.lanes.values().toArray(Lane[]::new);
+    }
+
+    /**
+     * Delivers the event to handlers on the posting thread, then queues it for lanes with handlers of its type.
+     *
+     * @param event event to be posted
+     * @return false if any handlers on the posting thread cancelled the event
+     */
+    @Override
+    public boolean post(Event event) {
+        if (!delegate.post(event)) {
+            return false;
+        }
+        var type = event.type();
+        for (Lane lane : laneArray) {
+            if (lane.bus.hasHandlers(type)) {
+                lane.enqueue(event);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public <E extends Event> Subscription register(TypeToken<E> type, EventHandler<E> handler, Object owner) {
+        var lane = handler.lane();
+        return lane == null ? delegate.register(type, handler, owner) : lane(lane).bus.register(type, handler, owner);
+    }
+
+    @Override
+    public <E extends Event, K> Subscription register(TypeToken<E> type, Function<? super E, ? extends K> keyExtractor, K key, EventHandler<E> handler, Object owner) {
+        var lane = handler.lane();
+        return lane == null
+                ? delegate.register(type, keyExtractor, key, handler, owner)
+                : lane(lane).bus.register(type, keyExtractor, key, handler, owner);
+    }
+
+    /**
+     * Registers handlers of the host on the buses of their lanes. The host is resolved once by the delegate, which
+     * keeps the handlers without a lane and hands the others over to their lanes. Handlers on unknown lanes are rejected
+     * before any handler is registered.
+     */
+    @Override
+    public Subscription registerWeakly(EventListenerHost host, Predicate<EventTuple<?>> filter) {
+        var laneHandlers = new HashMap<Lane, List<EventTuple<?>>>();
+        var subscriptions = new ArrayList<Subscription>();
+        subscriptions.add(delegate.registerWeakly(host, tuple -> {
+            var lane = tuple.handler().lane();
+            if (lane == null) {
+                return filter.test(tuple);
+            }
+            var found = lane(lane); // fails for unknown lanes
+            if (filter.test(tuple)) {
+                laneHandlers.computeIfAbsent(found, it -> new ArrayList<>()).add(tuple);
+            }
+            return false;
+        }));
+        laneHandlers.forEach((lane, handlers) -> subscriptions.add(lane.bus.registerWeakly(host, handlers)));
+        return () -> subscriptions.forEach(Subscription::cancel);
+    }
+
+    @Override
+    public void unregisterAll(Object owner) {
+        delegate.unregisterAll(owner);
+        for (Lane lane : laneArray) {
+            lane.bus.unregisterAll(owner);
+        }
+    }
+
+    /**
+     * Delivers events queued on a {@link #MANUAL} lane on the calling thread. Events queued meanwhile are left to the
+     * next call.
+     *
+     * @param lane name of the lane
+     * @return number of events delivered
+     */
+    public int drain(String lane) {
+        var found = lane(lane);
+        if (found.executor != MANUAL) {
+            throw new IllegalStateException("Lane " + lane + " is drained by its executor");
+        }
+        synchronized (found) {
+            return found.drain();
+        }
+    }
+
+    /**
+     * @param lane name of the lane
+     * @return number of events waiting on the lane
+     */
+    public int pending(String lane) {
+        return lane(lane).pending.get();
+    }
+
+    private Lane lane(String name) {
+        var lane = lanes.get(name);
+        if (lane == null) {
+            throw new IllegalArgumentException("Unknown lane: " + name);
+        }
+        return lane;
+    }
+
+    protected final class Lane {
+        private final String name;
+        private final Executor executor;
+        /**
+         * Handlers of this lane. Posted only from the lane.
+         */
+        private final CopyOnWriteEventBus bus = new CopyOnWriteEventBus(exceptionHandler);
+        private final ConcurrentLinkedQueue<Event> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Lane(String name, Executor executor) {
+            this.name = name;
+            this.executor = executor;
+        }
+
+        void enqueue(Event event) {
+            queue.add(event);
+            pending.incrementAndGet();
+            if (executor != MANUAL) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::runScheduled);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * Drains the lane, then submits another task if events were queued meanwhile, even if a handler threw an
+         * {@link Error}.
+         */
+        private void runScheduled() {
+            try {
+                drain();
+            } finally {
+                scheduled.set(false);
+                if (!queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        /**
+         * Delivers the events queued before this call. Must not be called concurrently.
+         */
+        int drain() {
+            int count = pending.get();
+            for (int i = 0; i < count; i++) {
+                var event = queue.poll();
+                pending.decrementAndGet();
+                bus.post(event);
+            }
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return "Lane[" + name + "]";
+        }
+    }
+}
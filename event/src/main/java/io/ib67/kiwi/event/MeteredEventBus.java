@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Cancellable;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.Subscription;
+import io.ib67.kiwi.event.metrics.EventBusMetrics;
+import io.ib67.kiwi.event.metrics.HandlerMetrics;
+import io.ib67.kiwi.event.util.ForwardingHandler;
+import io.ib67.kiwi.routine.Interruption;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An {@link EventBus} that measures its handlers. Every handler is wrapped at registration into one that counts
+ * invocations, interruptions and failures and records its latency into {@link EventBusMetrics}.
+ * Handlers are stored in the delegated bus, so buses that are not wrapped pay nothing for metrics.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public class MeteredEventBus implements EventBus {
+    protected final EventBus delegate;
+    protected final EventBusMetrics metrics;
+    /**
+     * Metrics of handlers grouped by their owner. Guarded by itself.
+     */
+    protected final Map<Object, List<HandlerMetrics>> owners = new IdentityHashMap<>();
+
+    /**
+     * @param delegate the bus to store handlers and deliver events
+     * @param metrics  where metrics of handlers go
+     */
+    public MeteredEventBus(EventBus delegate, EventBusMetrics metrics) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    public EventBusMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public boolean post(Event event) {
+        return delegate.post(event);
+    }
+
+    @Override
+    public <E extends Event> Subscription register(TypeToken<E> type, EventHandler<E> handler, Object owner) {
+        var handlerMetrics = metrics.track(type + " " + handler);
+        return track(delegate.register(type, new MeteredHandler<>(handler, handlerMetrics), owner), handlerMetrics, owner);
+    }
+
+    @Override
+    public <E extends Event, K> Subscription register(TypeToken<E> type, Function<? super E, ? extends K> keyExtractor, K key, EventHandler<E> handler, Object owner) {
+        var handlerMetrics = metrics.track(type + "[" + key + "] " + handler);
+        return track(delegate.register(type, keyExtractor, key, new MeteredHandler<>(handler, handlerMetrics), owner), handlerMetrics, owner);
+    }
+
+    private Subscription track(Subscription subscription, HandlerMetrics handlerMetrics, Object owner) {
+        if (owner != null) {
+            synchronized (owners) {
+                owners.computeIfAbsent(owner, it -> new ArrayList<>()).add(handlerMetrics);
+            }
+        }
+        return () -> {
+            subscription.cancel();
+            metrics.untrack(handlerMetrics);
+            if (owner != null) {
+                synchronized (owners) {
+                    var ownedMetrics = owners.get(owner);
+                    if (ownedMetrics != null && ownedMetrics.remove(handlerMetrics) && ownedMetrics.isEmpty()) {
+                        owners.remove(owner);
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public void unregisterAll(Object owner) {
+        delegate.unregisterAll(owner);
+        List<HandlerMetrics> removed;
+        synchronized (owners) {
+            removed = owners.remove(owner);
+        }
+        if (removed != null) {
+            removed.forEach(metrics::untrack);
+        }
+    }
+
+    record MeteredHandler<E extends Event>(EventHandler<E> handler, HandlerMetrics metrics) implements ForwardingHandler<E> {
+        @Override
+        public void handle(E event) throws Interruption {
+            var start = System.nanoTime();
+            try {
+                handler.handle(event);
+            } catch (Interruption interruption) {
+                metrics.recordInterruption(System.nanoTime() - start);
+                throw interruption;
+            } catch (Throwable t) {
+                metrics.recordFailure(System.nanoTime() - start);
+                throw t;
+            }
+            if (event instanceof Cancellable cancellable && cancellable.isCancelled()) {
+                metrics.recordInterruption(System.nanoTime() - start);
+            } else {
+                metrics.recordSuccess(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public int priority() {
+            return handler.priority();
+        }
+
+        @Override
+        public String lane() {
+            return handler.lane();
+        }
+
+        @Override
+        public EventHandler<E> delegate() {
+            return handler;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.api.Subscription;
+import io.ib67.kiwi.event.util.EventTuple;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An {@link EventBus} that hands events over to a single consumer thread through a preallocated ring buffer, in the
+ * manner of LMAX Disruptor. Posting doesn't allocate, and the consumer delivers events with the delegated bus, so
+ * handlers are matched the same way as they are in {@link HierarchyEventBus}.
+ * <p>
+ * Unlike other busses, {@link #post(Event)} only tells whether the event is accepted by the ring. What happens when the
+ * ring is full is decided by the {@link OverflowPolicy}. Events are delivered in the order they are claimed.
+ * <p>
+ * The consumer thread is started by {@link #start()}, and events can only be posted after that. Anything thrown while
+ * delivering an event is reported to the uncaught exception handler of the consumer thread, which then carries on with
+ * the next event.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public class RingBufferEventBus implements EventBus, AutoCloseable {
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * How producers and the consumer wait for the other side.
+     */
+    public enum WaitStrategy {
+        /**
+         * Spins on the CPU. Lowest latency, but burns a core.
+         */
+        BUSY_SPIN {
+            @Override
+            void idle(int attempts) {
+                Thread.onSpinWait();
+            }
+        },
+        /**
+         * Spins for a while and then yields to other threads.
+         */
+        YIELD {
+            @Override
+            void idle(int attempts) {
+                if (attempts < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        },
+        /**
+         * Spins for a while and then parks for a short time. Gentle on CPU at the cost of latency.
+         */
+        PARK {
+            @Override
+            void idle(int attempts) {
+                if (attempts < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        };
+
+        private static final long PARK_NANOS = 10_000L;
+
+        abstract void idle(int attempts);
+    }
+
+    /**
+     * What producers do when the ring is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Waits with the {@link WaitStrategy} until the consumer frees a slot.
+         */
+        BLOCK,
+        /**
+         * Drops the event being posted. {@link #post(Event)} returns false.
+         */
+        DROP_NEWEST,
+        /**
+         * Throws an {@link IllegalStateException}.
+         */
+        FAIL_FAST
+    }
+
+    protected final EventBus delegate;
+    protected final WaitStrategy waitStrategy;
+    protected final OverflowPolicy overflowPolicy;
+    private final Event[] slots;
+    /**
+     * The round of the sequence published into each slot, see {@link #round(long)}.
+     */
+    private final int[] published;
+    private final int mask;
+    private final int shift;
+    private final Sequence claimed = new Sequence();
+    private final Sequence consumed = new Sequence();
+    private final Thread consumer;
+    /**
+     * One of {@link #NEW}, {@link #RUNNING} and {@link #CLOSED}.
+     */
+    private volatile int state = NEW;
+    private static final int NEW = 0;
+    private static final int RUNNING = 1;
+    private static final int CLOSED = 2;
+
+    /**
+     * Creates a bus backed by a {@link CopyOnWriteEventBus} which blocks producers when the ring is full.
+     *
+     * @param capacity size of the ring, must be a power of two.
+     */
+    public RingBufferEventBus(int capacity) {
+        this(new CopyOnWriteEventBus(), capacity, WaitStrategy.PARK, OverflowPolicy.BLOCK, Thread.ofPlatform().name("kiwi-ring-bus-", 0).daemon(true).factory());
+    }
+
+    /**
+     * @param delegate       the bus to store handlers and deliver events. It is posted only from the consumer thread.
+     * @param capacity       size of the ring, must be a power of two.
+     * @param waitStrategy   how to wait for the other side
+     * @param overflowPolicy what to do when the ring is full
+     * @param threadFactory  creates the consumer thread, which is started by {@link #start()}.
+     */
+    public RingBufferEventBus(EventBus delegate, int capacity, WaitStrategy waitStrategy, OverflowPolicy overflowPolicy, ThreadFactory threadFactory) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+        }
+        this.delegate = Objects.requireNonNull(delegate);
+        this.waitStrategy = Objects.requireNonNull(waitStrategy);
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+        this.slots = new Event[capacity];
+        this.published = new int[capacity];
+        Arrays.fill(published, -1);
+        this.mask = capacity - 1;
+        this.shift = Integer.numberOfTrailingZeros(capacity);
+        this.consumer = threadFactory.newThread(this::consume);
+    }
+
+    /**
+     * Starts the consumer thread. Calling it again has no effect.
+     *
+     * @return this bus
+     * @throws IllegalStateException if the bus is closed
+     */
+    public synchronized RingBufferEventBus start() {
+        if (state == CLOSED) {
+            throw new IllegalStateException("This bus is closed");
+        }
+        if (state == NEW) {
+            state = RUNNING;
+            consumer.start();
+        }
+        return this;
+    }
+
+    /**
+     * Puts the event into the ring.
+     *
+     * @param event event to be posted
+     * @return false if the event is dropped by {@link OverflowPolicy#DROP_NEWEST}
+     * @throws IllegalStateException if the ring is full with {@link OverflowPolicy#FAIL_FAST}, or the bus is not started or closed.
+     */
+    @Override
+    public boolean post(Event event) {
+        Objects.requireNonNull(event);
+        long sequence;
+        int attempts = 0;
+        while (true) {
+            if (state != RUNNING) {
+                throw new IllegalStateException(state == NEW ? "This bus is not started" : "This bus is closed");
+            }
+            var current = claimed.get();
+            sequence = current + 1;
+            if (sequence - slots.length > consumed.get()) {
+                switch (overflowPolicy) {
+                    case DROP_NEWEST -> {
+                        return false;
+                    }
+                    case FAIL_FAST -> throw new IllegalStateException("The ring buffer is full");
+                    case BLOCK -> {
+                        waitStrategy.idle(attempts++);
+                        continue;
+                    }
+                }
+            }
+            if (claimed.compareAndSet(current, sequence)) {
+                break;
+            }
+        }
+        var index = (int) sequence & mask;
+        slots[index] = event;
+        PUBLISHED.setRelease(published, index, round(sequence));
+        return true;
+    }
+
+    private int round(long sequence) {
+        return (int) (sequence >>> shift);
+    }
+
+    private void consume() {
+        var next = consumed.get() + 1;
+        int attempts = 0;
+        while (true) {
+            var index = (int) next & mask;
+            if ((int) PUBLISHED.getAcquire(published, index) != round(next)) {
+                if (state != RUNNING && claimed.get() < next) {
+                    return; // drained
+                }
+                waitStrategy.idle(attempts++);
+                continue;
+            }
+            attempts = 0;
+            var event = slots[index];
+            slots[index] = null;
+            try {
+                delegate.post(event);
+            } catch (Throwable t) { // an Error must not kill the consumer, or producers would wait forever.
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+            }
+            consumed.set(next);
+            next++;
+        }
+    }
+
+    @Override
+    public <E extends Event> Subscription register(TypeToken<E> type, EventHandler<E> handler, Object owner) {
+        return delegate.register(type, handler, owner);
+    }
+
+    @Override
+    public <E extends Event, K> Subscription register(TypeToken<E> type, Function<? super E, ? extends K> keyExtractor, K key, EventHandler<E> handler, Object owner) {
+        return delegate.register(type, keyExtractor, key, handler, owner);
+    }
+
+    @Override
+    public Subscription registerWeakly(EventListenerHost host, Predicate<EventTuple<?>> filter) {
+        return delegate.registerWeakly(host, filter);
+    }
+
+    @Override
+    public void unregisterAll(Object owner) {
+        delegate.unregisterAll(owner);
+    }
+
+    /**
+     * Stops accepting events and waits for the consumer to deliver the remaining ones.
+     * Events posted concurrently with this call may be dropped.
+     */
+    @Override
+    public synchronized void close() throws InterruptedException {
+        var started = state != NEW;
+        state = CLOSED;
+        if (started) {
+            consumer.join();
+        }
+    }
+
+    /**
+     * A sequence padded against false sharing with its neighbours.
+     */
+    @SuppressWarnings("unused")
+    private static class LeftPadding {
+        protected long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    private static class SequenceValue extends LeftPadding {
+        protected volatile long value = -1;
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Sequence extends SequenceValue {
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        protected long p9, p10, p11, p12, p13, p14, p15;
+
+        long get() {
+            return value;
+        }
+
+        void set(long value) {
+            VALUE.setRelease(this, value);
+        }
+
+        boolean compareAndSet(long expected, long value) {
+            return VALUE.compareAndSet(this, expected, value);
+        }
+    }
+}
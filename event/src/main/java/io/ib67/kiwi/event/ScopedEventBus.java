@@ -0,0 +1,341 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Cancellable;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.ExceptionPolicy;
+import io.ib67.kiwi.event.api.Subscription;
+import io.ib67.kiwi.routine.Interruption;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A child of another {@link EventBus}, such as one per session or tenant. Events posted to a scope are delivered to
+ * the handlers registered on the scope and to those of the parent, merged by their priorities. Among handlers of the
+ * same priority, local handlers run first. Handlers registered on the parent later are inherited too.
+ * <p>
+ * Local handlers are kept in a copy-on-write array, sorted by priority and then by registration order, regardless of
+ * the types they are registered for. On the first post of a type, they are merged with the dispatch plan of the parent,
+ * and the merged plan is cached until the scope or the parent is modified. Only handlers of a
+ * {@link HierarchyEventBus} or of another scope can be merged: for other parents, local handlers run first, and then
+ * the event is posted to the parent unless it's cancelled.
+ * <p>
+ * A scope without local handlers is a single small object, and posting to it is the same as posting to the parent.
+ * Registering on a scope never modifies the parent, and {@link #close()} drops all local handlers at once. Keyed and
+ * weak registrations use the defaults of {@link EventBus}, so keyed handlers are filters, and handlers of collected
+ * hosts stay until their subscription is cancelled.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public class ScopedEventBus implements EventBus, AutoCloseable {
+    private static final State EMPTY = new State(new LocalHandler[0]);
+    protected final EventBus parent;
+    protected final Predicate<Exception> exceptionHandler;
+    /**
+     * Local handlers along with their merged plans, replaced as a whole under the lock of this scope.
+     */
+    protected volatile State state = EMPTY;
+
+    public ScopedEventBus(EventBus parent) {
+        this(parent, ExceptionPolicy.CONTINUE);
+    }
+
+    /**
+     * @param parent           the bus whose handlers are inherited
+     * @param exceptionHandler called when a local handler throws, see {@link ExceptionPolicy}.
+     */
+    public ScopedEventBus(EventBus parent, Predicate<Exception> exceptionHandler) {
+        this.parent = Objects.requireNonNull(parent);
+        this.exceptionHandler = Objects.requireNonNull(exceptionHandler);
+    }
+
+    /**
+     * @param event event to be posted
+     * @return false if any local or inherited handlers cancelled the event
+     */
+    @Override
+    public boolean post(Event event) {
+        var state = this.state;
+        if (state.handlers.length == 0) {
+            return parent.post(event);
+        }
+        var plan = plan(state, event.type());
+        if (plan == null) {
+            return deliver(state.handlers, event) && parent.post(event);
+        }
+        return deliver(plan, event);
+    }
+
+    private boolean deliver(LocalHandler[] handlers, Event event) {
+        var cancellable = event instanceof Cancellable c ? c : null;
+        TypeToken<?> eventType = null;
+        for (LocalHandler handler : handlers) {
+            if (cancellable != null && cancellable.isCancelled()) {
+                return false;
+            }
+            if (!handler.raw.isInstance(event)) {
+                continue;
+            }
+            if (handler.generic) {
+                if (eventType == null) {
+                    eventType = event.type();
+                }
+                if (!eventType.assignableTo(handler.type)) {
+                    continue;
+                }
+            }
+            try {
+                handler.handler.handle(event);
+            } catch (Interruption ignored) {
+                return false;
+            } catch (Exception e) {
+                if (!exceptionHandler.test(e)) {
+                    return false;
+                }
+            }
+        }
+        return cancellable == null || !cancellable.isCancelled();
+    }
+
+    private static boolean deliver(Plan plan, Event event) {
+        var cancellable = event instanceof Cancellable c ? c : null;
+        var handlers = plan.handlers;
+        for (int i = 0; i < handlers.length; i++) {
+            if (cancellable != null && cancellable.isCancelled()) {
+                return false;
+            }
+            try {
+                handlers[i].handle(event);
+            } catch (Interruption ignored) {
+                return false;
+            } catch (Exception e) {
+                if (!plan.exceptionHandlers[i].test(e)) {
+                    return false;
+                }
+            }
+        }
+        return cancellable == null || !cancellable.isCancelled();
+    }
+
+    /**
+     * Returns the cached plan of the type, or merges local handlers with the current plan of the parent again.
+     * Scopes without local handlers are skipped when looking up the parent.
+     *
+     * @param state the state of this scope, which has local handlers
+     * @param type  the type of posted events
+     * @return the merged plan, or null if the parent can't be merged with
+     */
+    private @Nullable Plan plan(State state, TypeToken<?> type) {
+        var ancestor = parent;
+        var ancestorState = EMPTY;
+        while (ancestor instanceof ScopedEventBus scope && (ancestorState = scope.state).handlers.length == 0) {
+            ancestor = scope.parent;
+        }
+        Object inherited;
+        if (ancestor instanceof HierarchyEventBus bus) {
+            inherited = bus.dispatchPlan(type);
+        } else if (ancestor instanceof ScopedEventBus scope) {
+            inherited = scope.plan(ancestorState, type);
+        } else {
+            return null;
+        }
+        if (inherited == null) {
+            return null;
+        }
+        var plans = state.plans;
+        if (plans == null) {
+            plans = state.plans = new ConcurrentHashMap<>(); // a racing post may drop the plans of another, that's fine
+        }
+        var plan = plans.get(type);
+        if (plan == null || plan.inherited != inherited) {
+            plan = merge(state.handlers, type, ancestor, inherited);
+            plans.put(type, plan);
+        }
+        return plan;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Plan merge(LocalHandler[] locals, TypeToken<?> type, EventBus ancestor, Object inherited) {
+        EventHandler<Event>[] inheritedHandlers;
+        Predicate<Exception>[] inheritedExceptionHandlers;
+        if (inherited instanceof Plan plan) {
+            inheritedHandlers = plan.handlers;
+            inheritedExceptionHandlers = plan.exceptionHandlers;
+        } else {
+            var bus = (HierarchyEventBus) ancestor;
+            inheritedHandlers = bus.plannedHandlers(type, (EventHandler<Event>[]) inherited);
+            inheritedExceptionHandlers = new Predicate[inheritedHandlers.length];
+            Arrays.fill(inheritedExceptionHandlers, bus.exceptionHandler);
+        }
+        var raw = type.getBaseTypeRaw();
+        var matched = new ArrayList<LocalHandler>(locals.length);
+        for (LocalHandler local : locals) {
+            if (local.raw.isAssignableFrom(raw) && (!local.generic || type.assignableTo(local.type))) {
+                matched.add(local);
+            }
+        }
+        var length = matched.size() + inheritedHandlers.length;
+        var handlers = new EventHandler[length];
+        var exceptionHandlers = new Predicate[length];
+        int i = 0, j = 0;
+        for (int k = 0; k < length; k++) {
+            if (j == inheritedHandlers.length
+                    || i < matched.size() && matched.get(i).handler.priority() <= inheritedHandlers[j].priority()) {
+                handlers[k] = matched.get(i++).handler;
+                exceptionHandlers[k] = exceptionHandler;
+            } else {
+                handlers[k] = inheritedHandlers[j];
+                exceptionHandlers[k] = inheritedExceptionHandlers[j++];
+            }
+        }
+        return new Plan(inherited, handlers, exceptionHandlers);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E extends Event> Subscription register(TypeToken<E> type, EventHandler<E> handler, @Nullable Object owner) {
+        var entry = new LocalHandler(type, (EventHandler<Event>) Objects.requireNonNull(handler), owner);
+        synchronized (this) {
+            var handlers = this.state.handlers;
+            var priority = handler.priority();
+            int index = handlers.length;
+            while (index > 0 && handlers[index - 1].handler.priority() > priority) {
+                index--;
+            }
+            var newHandlers = new LocalHandler[handlers.length + 1];
+            System.arraycopy(handlers, 0, newHandlers, 0, index);
+            newHandlers[index] = entry;
+            System.arraycopy(handlers, index, newHandlers, index + 1, handlers.length - index);
+            this.state = new State(newHandlers);
+        }
+        return () -> remove(entry);
+    }
+
+    private synchronized void remove(LocalHandler entry) {
+        var handlers = this.state.handlers;
+        for (int i = 0; i < handlers.length; i++) {
+            if (handlers[i] == entry) {
+                if (handlers.length == 1) {
+                    this.state = EMPTY;
+                    return;
+                }
+                var newHandlers = new LocalHandler[handlers.length - 1];
+                System.arraycopy(handlers, 0, newHandlers, 0, i);
+                System.arraycopy(handlers, i + 1, newHandlers, i, handlers.length - i - 1);
+                this.state = new State(newHandlers);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes local handlers of the owner. Handlers of the parent are not affected.
+     *
+     * @param owner the owner
+     */
+    @Override
+    public synchronized void unregisterAll(Object owner) {
+        if (owner == null) {
+            return;
+        }
+        var handlers = this.state.handlers;
+        var remaining = Arrays.stream(handlers).filter(it -> it.owner != owner).toArray(LocalHandler[]::new);
+        if (remaining.length != handlers.length) {
+            this.state = remaining.length == 0 ? EMPTY : new State(remaining);
+        }
+    }
+
+    /**
+     * @return the parent bus
+     */
+    public EventBus getParent() {
+        return parent;
+    }
+
+    /**
+     * @return true if handlers are registered on this scope
+     */
+    public boolean hasLocalHandlers() {
+        return state.handlers.length != 0;
+    }
+
+    /**
+     * Drops all local handlers. Their subscriptions do nothing after that, and the scope can still be used.
+     */
+    @Override
+    public synchronized void close() {
+        state = EMPTY;
+    }
+
+    /**
+     * Local handlers and the plans merged from them, which are created on the first post.
+     */
+    protected static final class State {
+        final LocalHandler[] handlers;
+        volatile @Nullable Map<TypeToken<?>, Plan> plans;
+
+        State(LocalHandler[] handlers) {
+            this.handlers = handlers;
+        }
+    }
+
+    /**
+     * Local handlers merged with the handlers of a parent plan, each with the exception handler of its bus.
+     *
+     * @param inherited the dispatch plan of a {@link HierarchyEventBus} or the {@link Plan} of a scope it was merged
+     *                  with, which is replaced when the parent is modified
+     */
+    protected record Plan(Object inherited, EventHandler<Event>[] handlers, Predicate<Exception>[] exceptionHandlers) {
+    }
+    /**
+     * A local handler. Events are matched by their raw class, and by {@link TypeToken#assignableTo(TypeToken)} only if
+     * the handler is registered for a parameterized type.
+     */
+    protected static final class LocalHandler {
+        final TypeToken<?> type;
+        final Class<?> raw;
+        final boolean generic;
+        final EventHandler<Event> handler;
+        final @Nullable Object owner;
+
+        LocalHandler(TypeToken<?> type, EventHandler<Event> handler, @Nullable Object owner) {
+            this.type = type;
+            this.raw = type.getBaseTypeRaw();
+            this.generic = !type.getTypeParams().isEmpty();
+            this.handler = handler;
+            this.owner = owner;
+        }
+    }
+}
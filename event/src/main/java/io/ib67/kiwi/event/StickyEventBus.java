@@ -0,0 +1,293 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Cancellable;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.api.ExceptionPolicy;
+import io.ib67.kiwi.event.api.Subscription;
+import io.ib67.kiwi.event.util.EventTuple;
+import io.ib67.kiwi.routine.Interruption;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An {@link EventBus} that remembers the last event posted of each type, and delivers remembered events to handlers
+ * at registration if they accept them, including events of subtypes. Useful for state events posted only once,
+ * such as a configuration reload, so that late subscribers don't need to poll.
+ * <p>
+ * At most {@code maxTypes} event types are remembered. When a new type comes in, the type posted least recently is
+ * forgotten. Events older than {@code maxAge} are forgotten as well, if it is given.
+ * Posting an event of a remembered type only writes to its slot, so it takes no lock and doesn't allocate.
+ * <p>
+ * An event is remembered after it has been delivered, unless a handler interrupted it. Remembered events are delivered
+ * after the handler is registered, skipping those that have been cancelled. Exceptions thrown by the handler are
+ * passed to the exception handler, and never thrown from registering. A handler registered while a matching event is
+ * being posted may miss it.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public class StickyEventBus implements EventBus {
+    protected static final long NO_MAX_AGE = -1;
+    protected final EventBus delegate;
+    protected final int maxTypes;
+    /**
+     * The maximum age of remembered events, or {@link #NO_MAX_AGE}.
+     */
+    protected final long maxAgeNanos;
+    protected final Predicate<Exception> exceptionHandler;
+    protected final Map<TypeToken<?>, Slot> slots = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate         the bus to store handlers and deliver events
+     * @param maxTypes         the maximum number of event types to remember
+     * @param maxAge           how long an event is remembered after being posted, or null to remember it until it is replaced
+     * @param exceptionHandler called when a handler throws while remembered events are delivered, see {@link ExceptionPolicy}.
+     */
+    public StickyEventBus(EventBus delegate, int maxTypes, @Nullable Duration maxAge, Predicate<Exception> exceptionHandler) {
+        if (maxTypes <= 0) {
+            throw new IllegalArgumentException("maxTypes must be positive");
+        }
+        if (maxAge != null && maxAge.isNegative()) {
+            throw new IllegalArgumentException("maxAge must not be negative");
+        }
+        this.delegate = Objects.requireNonNull(delegate);
+        this.maxTypes = maxTypes;
+        this.maxAgeNanos = maxAge == null ? NO_MAX_AGE : maxAge.toNanos();
+        this.exceptionHandler = Objects.requireNonNull(exceptionHandler);
+    }
+
+    /**
+     * @param delegate the bus to store handlers and deliver events
+     * @param maxTypes the maximum number of event types to remember
+     * @param maxAge   how long an event is remembered after being posted
+     */
+    public StickyEventBus(EventBus delegate, int maxTypes, Duration maxAge) {
+        this(delegate, maxTypes, Objects.requireNonNull(maxAge), ExceptionPolicy.CONTINUE);
+    }
+
+    /**
+     * Creates a bus that remembers up to 64 event types for as long as they are not replaced.
+     *
+     * @param delegate the bus to store handlers and deliver events
+     */
+    public StickyEventBus(EventBus delegate) {
+        this(delegate, 64, null, ExceptionPolicy.CONTINUE);
+    }
+
+    /**
+     * Delivers the event, then remembers it if no handler interrupted it.
+     */
+    @Override
+    public boolean post(Event event) {
+        if (!delegate.post(event)) {
+            return false;
+        }
+        var type = event.type();
+        var slot = slots.get(type);
+        if (slot == null) {
+            slot = createSlot(type);
+        }
+        slot.postedAt = System.nanoTime();
+        slot.event = event; // written last, so readers of the event see at least its time
+        return true;
+    }
+
+    private synchronized Slot createSlot(TypeToken<?> type) {
+        var slot = slots.get(type);
+        if (slot != null) {
+            return slot;
+        }
+        if (slots.size() >= maxTypes) {
+            evictOldest();
+        }
+        slot = new Slot();
+        slots.put(type, slot);
+        return slot;
+    }
+
+    private void evictOldest() {
+        TypeToken<?> oldestType = null;
+        long oldest = 0;
+        for (var entry : slots.entrySet()) {
+            var slot = entry.getValue();
+            if (slot.event == null) { // being created
+                continue;
+            }
+            var postedAt = slot.postedAt;
+            if (oldestType == null || postedAt - oldest < 0) {
+                oldestType = entry.getKey();
+                oldest = postedAt;
+            }
+        }
+        if (oldestType != null) {
+            slots.remove(oldestType);
+        }
+    }
+
+    /**
+     * Registers the handler, then delivers remembered events it accepts, in the order they were posted.
+     * An {@link Interruption} thrown by the handler, or an exception the exception handler rejects, stops delivering
+     * remembered events.
+     */
+    @Override
+    public <E extends Event> Subscription register(TypeToken<E> type, EventHandler<E> handler, Object owner) {
+        var subscription = delegate.register(type, handler, owner);
+        deliverSticky(type, handler, event -> true);
+        return subscription;
+    }
+
+    /**
+     * Registers the handler, then delivers remembered events it accepts which have the key.
+     */
+    @Override
+    public <E extends Event, K> Subscription register(TypeToken<E> type, Function<? super E, ? extends K> keyExtractor, K key, EventHandler<E> handler, Object owner) {
+        var subscription = delegate.register(type, keyExtractor, key, handler, owner);
+        deliverSticky(type, handler, event -> key.equals(keyExtractor.apply(event)));
+        return subscription;
+    }
+
+    /**
+     * Registers the handlers of the host on the delegate, which holds the host weakly, then delivers remembered events
+     * each handler accepts.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Subscription registerWeakly(EventListenerHost host, Predicate<EventTuple<?>> filter) {
+        var registered = new ArrayList<EventTuple<?>>();
+        var subscription = delegate.registerWeakly(host, tuple -> {
+            if (filter.test(tuple)) {
+                registered.add(tuple);
+                return true;
+            }
+            return false;
+        });
+        for (EventTuple<?> tuple : registered) {
+            var _t = (EventTuple<Event>) tuple;
+            deliverSticky(_t.type(), _t.handler(), event -> true);
+        }
+        return subscription;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends Event> void deliverSticky(TypeToken<E> type, EventHandler<E> handler, Predicate<? super E> filter) {
+        var matched = new ArrayList<Sticky>();
+        var now = now();
+        for (var entry : slots.entrySet()) {
+            var sticky = live(entry.getKey(), entry.getValue(), now);
+            if (sticky != null && entry.getKey().assignableTo(type)) {
+                matched.add(sticky);
+            }
+        }
+        matched.sort(Comparator.comparingLong(Sticky::postedAt));
+        for (Sticky sticky : matched) {
+            if (sticky.event instanceof Cancellable cancellable && cancellable.isCancelled()) {
+                continue;
+            }
+            try {
+                if (filter.test((E) sticky.event)) {
+                    handler.handle((E) sticky.event);
+                }
+            } catch (Interruption ignored) {
+                return;
+            } catch (Exception e) {
+                if (!exceptionHandler.test(e)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void unregisterAll(Object owner) {
+        delegate.unregisterAll(owner);
+    }
+
+    /**
+     * @param type type of the event, matched exactly
+     * @return the last event posted of the type, or null if it is not remembered
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Event> @Nullable E getSticky(TypeToken<E> type) {
+        var slot = slots.get(type);
+        if (slot == null) {
+            return null;
+        }
+        var sticky = live(type, slot, now());
+        return sticky == null ? null : (E) sticky.event;
+    }
+
+    /**
+     * Forgets the last event of the type, so it won't be delivered to later handlers.
+     *
+     * @param type type of the event, matched exactly
+     */
+    public void removeSticky(TypeToken<?> type) {
+        slots.remove(type);
+    }
+
+    public void clearSticky() {
+        slots.clear();
+    }
+
+    private long now() {
+        return maxAgeNanos == NO_MAX_AGE ? 0 : System.nanoTime();
+    }
+
+    private @Nullable Sticky live(TypeToken<?> type, Slot slot, long now) {
+        var event = slot.event;
+        if (event == null) {
+            return null;
+        }
+        var postedAt = slot.postedAt;
+        if (maxAgeNanos != NO_MAX_AGE && now - postedAt > maxAgeNanos) {
+            slots.remove(type, slot);
+            return null;
+        }
+        return new Sticky(event, postedAt);
+    }
+
+    /**
+     * The last event of a type, and the {@link System#nanoTime()} it was posted at.
+     */
+    protected static final class Slot {
+        volatile long postedAt;
+        volatile Event event;
+    }
+
+    protected record Sticky(Event event, long postedAt) {
+    }
+}
@@ -25,9 +25,13 @@
 package io.ib67.kiwi.event;
 
 import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Cancellable;
 import io.ib67.kiwi.event.api.Event;
 import io.ib67.kiwi.event.api.EventBus;
 import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.ExceptionPolicy;
+import io.ib67.kiwi.event.api.Subscription;
+import io.ib67.kiwi.event.jfr.EventPosted;
 import io.ib67.kiwi.event.util.SortedArrayList;
 import io.ib67.kiwi.routine.Interruption;
 
@@ -37,38 +41,91 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
 
+/**
+ * Handlers of one event class, sorted by priority. {@link HierarchyEventBus} only reads them by {@link #collectHandlers},
+ * when a dispatch plan is built, and never posts to this bus.
+ * <p>
+ * Posting to this bus directly checks each handler against the event type. The results are cached per handler
+ * signature in a {@link TypeTokenSet}, which concurrent posters fill without locking.
+ * <p>
+ * Handlers are ordered by priority, then by registration, so each one has its own position and is removed by a binary
+ * search. {@link HandlerEntry#hide()} marks a handler as removed without modifying the list, which is left to
+ * {@link #compact()}.
+ */
 class TypeAwareBus implements EventBus {
-    private static final Predicate<Exception> ALWAYS_TRUE = e -> true;
-    protected final List<HandlerEntry> handlers;
+    protected final SortedArrayList<HandlerEntry> handlers;
+    /**
+     * Event types accepted by handlers, keyed by the type of the handlers. Modified when handlers are registered.
+     */
     protected final Map<TypeToken<?>, TypeTokenSet> signatureCache;
     protected final Predicate<Exception> exceptionHandler;
+    /**
+     * Sequence number of the next registered handler, which orders handlers of the same priority.
+     */
+    private long nextSequence;
 
     public TypeAwareBus(int initialCapacity) {
-        this(initialCapacity, ALWAYS_TRUE);
+        this(initialCapacity, ExceptionPolicy.CONTINUE);
     }
 
     public TypeAwareBus(int initialCapacity, Predicate<Exception> exceptionHandler) {
-        this.handlers = new SortedArrayList<>(initialCapacity, Comparator.comparingInt(HandlerEntry::priority));
+        this.handlers = new SortedArrayList<>(initialCapacity, HandlerEntry.ORDER);
         this.exceptionHandler = exceptionHandler;
         this.signatureCache = new HashMap<>();
     }
 
+    /**
+     * Copy constructor. The handler list is taken as-is.
+     */
+    protected TypeAwareBus(SortedArrayList<HandlerEntry> handlers, Map<TypeToken<?>, TypeTokenSet> signatureCache, Predicate<Exception> exceptionHandler) {
+        this.handlers = handlers;
+        this.signatureCache = signatureCache;
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * Creates an immutable copy of this bus which shares signature caches with the original one.
+     * Registering on the copy is not allowed.
+     *
+     * @return a frozen copy of this bus.
+     */
+    TypeAwareBus snapshot() {
+        return new TypeAwareBus(handlers.immutableCopy(), signatureCache, exceptionHandler);
+    }
+
     @Override
     public boolean post(Event event) {
-        var index = 0;
-        while (index < handlers.size()) {
+        var posted = new EventPosted();
+        posted.begin();
+        var handlers = this.handlers.snapshot();
+        var delivered = deliver(handlers, event);
+        if (posted.shouldCommit()) {
+            posted.eventType = event.type().toString();
+            posted.handlers = handlers.length;
+            posted.cancelled = !delivered;
+            posted.commit();
+        }
+        return delivered;
+    }
+
+    private boolean deliver(Object[] handlers, Event event) {
+        var eventType = event.type();
+        var cancellable = event instanceof Cancellable c ? c : null;
+        for (Object o : handlers) {
+            if (cancellable != null && cancellable.isCancelled()) {
+                return false;
+            }
+            var handler = (HandlerEntry) o;
+            if (handler.hidden) continue;
+            var cache = handler.signatureCache();
+            var result = cache.get(eventType);
+            if (result == null) { // use null to represent value not present.
+                result = eventType.assignableTo(handler.type());
+                cache.put(eventType, result);
+            }
+            if (!result) continue;
             try {
-                for (index = 0; index < handlers.size(); index++) {
-                    var eventType = event.type();
-                    var handler = handlers.get(index);
-                    var cache = handler.singatureCache();
-                    var result = cache.get(eventType);
-                    if (result == null) { // use null to represent value not present.
-                        result = eventType.assignableTo(handler.type());
-                        cache.put(eventType, result);
-                    }
-                    if (result) handler.handler().handle(event);
-                }
+                handler.handler().handle(event);
             } catch (Interruption ignored) {
                 return false;
             } catch (Exception e) {
@@ -77,21 +134,112 @@ class TypeAwareBus implements EventBus {
                 }
             }
         }
-        return true;
+        return cancellable == null || !cancellable.isCancelled();
+    }
+
+    /**
+     * Appends handlers accepting the event type to the list, in the order they would be called by {@link #post(Event)}.
+     *
+     * @param eventType type of the event
+     * @param sink      where the handlers go
+     */
+    void collectHandlers(TypeToken<?> eventType, List<EventHandler<?>> sink) {
+        for (Object o : handlers.snapshot()) {
+            var handler = (HandlerEntry<?>) o;
+            if (!handler.hidden && eventType.assignableTo(handler.type())) {
+                sink.add(handler.handler());
+            }
+        }
     }
 
     @Override
-    public <E extends Event> void register(TypeToken<E> type, EventHandler<E> handler) {
-        handlers.add(new HandlerEntry<>(handler, type, signatureCache.computeIfAbsent(type, it -> new TypeTokenSet(16))));
+    public <E extends Event> Subscription register(TypeToken<E> type, EventHandler<E> handler, Object owner) {
+        var entry = new HandlerEntry<>(this, handler, type, signatureCache.computeIfAbsent(type, it -> new TypeTokenSet(16)), owner, nextSequence++);
+        handlers.add(entry);
+        return entry;
     }
 
-    record HandlerEntry<E extends Event>(
-            EventHandler<E> handler,
-            TypeToken<E> type,
-            TypeTokenSet singatureCache
-    ) {
+    @Override
+    public void unregisterAll(Object owner) {
+        if (owner != null) {
+            handlers.removeIf(it -> it.owner() == owner);
+        }
+    }
+
+    /**
+     * Removes the handlers hidden by {@link HandlerEntry#hide()} in a single pass.
+     */
+    void compact() {
+        handlers.removeIf(HandlerEntry::hidden);
+    }
+
+    static final class HandlerEntry<E extends Event> implements Subscription {
+        @SuppressWarnings("rawtypes")
+        static final Comparator<HandlerEntry> ORDER = Comparator.<HandlerEntry>comparingInt(HandlerEntry::priority)
+                .thenComparingLong(HandlerEntry::sequence);
+        private final TypeAwareBus bus;
+        private final EventHandler<E> handler;
+        private final TypeToken<E> type;
+        private final TypeTokenSet signatureCache;
+        private final Object owner;
+        private final int priority;
+        private final long sequence;
+        private volatile boolean hidden;
+
+        HandlerEntry(TypeAwareBus bus, EventHandler<E> handler, TypeToken<E> type, TypeTokenSet signatureCache, Object owner, long sequence) {
+            this.bus = bus;
+            this.handler = handler;
+            this.type = type;
+            this.signatureCache = signatureCache;
+            this.owner = owner;
+            this.priority = handler.priority();
+            this.sequence = sequence;
+        }
+
+        EventHandler<E> handler() {
+            return handler;
+        }
+
+        TypeToken<E> type() {
+            return type;
+        }
+
+        TypeTokenSet signatureCache() {
+            return signatureCache;
+        }
+
+        Object owner() {
+            return owner;
+        }
+
         int priority() {
-            return handler.priority();
+            return priority;
+        }
+
+        long sequence() {
+            return sequence;
+        }
+
+        boolean hidden() {
+            return hidden;
+        }
+
+        /**
+         * Stops the handler from being collected or called, without modifying the handler list. Thread-safe.
+         */
+        void hide() {
+            hidden = true;
+        }
+
+        /**
+         * Hides the handler and removes it from the list.
+         */
+        @Override
+        public void cancel() {
+            if (!hidden) {
+                hidden = true;
+                bus.handlers.remove(this);
+            }
         }
     }
 }
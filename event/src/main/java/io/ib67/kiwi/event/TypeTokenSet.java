@@ -26,85 +26,173 @@ package io.ib67.kiwi.event;
 
 import io.ib67.kiwi.TypeToken;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A lock-free open addressing map from {@link TypeToken}s to booleans, used to cache whether a handler accepts an event type.
+ * Slots are published by CAS and never change once set, so lookups are just acquiring reads. Values are never replaced:
+ * the set caches the result of a pure function, so concurrent puts of the same key always agree on the value.
+ * <p>
+ * A full table is resized by allocating a twice larger one. Threads writing into the old table help moving its slots
+ * in chunks, and replace moved slots with a marker, so readers never miss an entry and continue in the new table.
+ */
 class TypeTokenSet {
     private static final float LOAD_FACTOR = 0.75f;
+    private static final int TRANSFER_CHUNK = 16;
+    private static final Object MOVED = new Object();
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle TABLE;
+    private static final VarHandle NEXT;
 
-    private TypeToken[] keys;
-    private boolean[] values;
-    private boolean[] used;
-    private int size;
-    private int threshold;
+    static {
+        try {
+            TABLE = MethodHandles.lookup().findVarHandle(TypeTokenSet.class, "table", Table.class);
+            NEXT = MethodHandles.lookup().findVarHandle(Table.class, "next", Table.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
-    private static final long EMPTY = 0L;
+    private volatile Table table;
 
     public TypeTokenSet(int initialCapacity) {
-        keys = new TypeToken[initialCapacity];
-        values = new boolean[initialCapacity];
-        used = new boolean[initialCapacity];
-        threshold = (int) (initialCapacity * LOAD_FACTOR);
+        table = new Table(Integer.highestOneBit(Math.max(2, initialCapacity) - 1) << 1);
     }
 
-    private int index(long key) {
-        return Long.hashCode(key) & (keys.length - 1);
+    private static int index(long hash, int mask) {
+        return Long.hashCode(hash) & mask;
     }
 
     public Boolean get(TypeToken<?> key) {
         var hash = key.longHash();
-        int idx = index(hash);
-        while (used[idx]) {
-            if (keys[idx].longHash() == key.longHash() && keys[idx].equals(key)) {
-                return values[idx];
+        var t = table;
+        while (t != null) {
+            var slots = t.slots;
+            var mask = slots.length - 1;
+            var idx = index(hash, mask);
+            for (int probes = 0; probes < slots.length; probes++) {
+                var slot = SLOTS.getAcquire(slots, idx);
+                if (slot == null) {
+                    return null;
+                }
+                if (slot == MOVED) {
+                    break;
+                }
+                var entry = (Entry) slot;
+                if (entry.hash == hash && entry.key.equals(key)) {
+                    return entry.value;
+                }
+                idx = (idx + 1) & mask;
             }
-            idx = (idx + 1) & (keys.length - 1);
+            t = t.next;
         }
         return null;
     }
 
     public boolean containsKey(TypeToken<?> key) {
-        var hash = key.longHash();
-        int idx = index(hash);
-        while (used[idx]) {
-            if (keys[idx].longHash() == key.longHash() && keys[idx].equals(key)) return true;
-            idx = (idx + 1) & (keys.length - 1);
-        }
-        return false;
+        return get(key) != null;
     }
 
+    /**
+     * Associates the value with the key, unless the key is already present.
+     */
     public void put(TypeToken<?> key, boolean value) {
-        var hash = key.longHash();
-        if (size >= threshold) resize();
-        int idx = index(hash);
-        while (used[idx]) {
-            if (keys[idx].longHash() == key.longHash() && keys[idx].equals(key)) {
-                values[idx] = value;
-                return;
+        insert(table, new Entry(key, key.longHash(), value));
+    }
+
+    private void insert(Table t, Entry entry) {
+        // a resizing table is only left on a moved slot, so readers following the same probe sequence will find the entry.
+        retry:
+        for (;;) {
+            var slots = t.slots;
+            var mask = slots.length - 1;
+            var idx = index(entry.hash, mask);
+            var probes = 0;
+            while (probes < slots.length) {
+                var slot = SLOTS.getAcquire(slots, idx);
+                if (slot == null) {
+                    if (!SLOTS.compareAndSet(slots, idx, null, entry)) {
+                        continue; // read the slot again
+                    }
+                    if (t.size.incrementAndGet() > t.threshold) {
+                        resize(t);
+                    }
+                    return;
+                }
+                if (slot == MOVED) {
+                    t = helpTransfer(t);
+                    continue retry;
+                }
+                var existing = (Entry) slot;
+                if (existing.hash == entry.hash && existing.key.equals(entry.key)) {
+                    return;
+                }
+                idx = (idx + 1) & mask;
+                probes++;
             }
-            idx = (idx + 1) & (keys.length - 1);
+            resize(t); // the table is filled up by concurrent puts
+        }
+    }
+
+    private void resize(Table t) {
+        if (t.next == null) {
+            NEXT.compareAndSet(t, null, new Table(t.slots.length * 2));
         }
-        keys[idx] = key;
-        values[idx] = value;
-        used[idx] = true;
-        size++;
+        helpTransfer(t);
     }
 
-    private void resize() {
-        TypeToken[] oldKeys = keys;
-        boolean[] oldValues = values;
-        boolean[] oldUsed = used;
-        int newCapacity = keys.length * 2;
-        keys = new TypeToken[newCapacity];
-        values = new boolean[newCapacity];
-        used = new boolean[newCapacity];
-        threshold = (int) (newCapacity * LOAD_FACTOR);
-        size = 0;
-        for (int i = 0; i < oldKeys.length; i++) {
-            if (oldUsed[i]) {
-                put(oldKeys[i], oldValues[i]);
+    /**
+     * Moves chunks of slots from the table to its successor until no chunk is left.
+     *
+     * @return the successor
+     */
+    private Table helpTransfer(Table t) {
+        var next = t.next;
+        var slots = t.slots;
+        int start;
+        while ((start = t.transferIndex.getAndAdd(TRANSFER_CHUNK)) < slots.length) {
+            var end = Math.min(start + TRANSFER_CHUNK, slots.length);
+            for (int i = start; i < end; i++) {
+                var slot = SLOTS.getAcquire(slots, i);
+                if (slot == null && SLOTS.compareAndSet(slots, i, null, MOVED)) {
+                    continue;
+                }
+                // entries are not changed by anyone except the thread moving this chunk.
+                insert(next, (Entry) SLOTS.getAcquire(slots, i));
+                SLOTS.setRelease(slots, i, MOVED);
             }
+            t.transferred.addAndGet(end - start);
+        }
+        if (t.transferred.get() == slots.length) {
+            TABLE.compareAndSet(this, t, next);
         }
+        return next;
     }
 
     public int size() {
-        return size;
+        var t = table;
+        while (t.next != null) {
+            t = helpTransfer(t);
+        }
+        return t.size.get();
+    }
+
+    private record Entry(TypeToken<?> key, long hash, boolean value) {
+    }
+
+    private static final class Table {
+        private final Object[] slots;
+        private final int threshold;
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicInteger transferIndex = new AtomicInteger();
+        private final AtomicInteger transferred = new AtomicInteger();
+        private volatile Table next;
+
+        private Table(int capacity) {
+            this.slots = new Object[capacity];
+            this.threshold = (int) (capacity * LOAD_FACTOR);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event.api;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * An event that can be coalesced with later events of the same type and key by
+ * {@link io.ib67.kiwi.event.CoalescingEventBus}, so that handlers only see one event per key in a window.
+ *
+ * @param <E> type of the event itself
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public interface Coalescable<E extends Coalescable<E>> extends Event {
+    /**
+     * @return the key that identifies events which can be coalesced, compared by {@link Object#equals(Object)}
+     */
+    Object coalescingKey();
+
+    /**
+     * Merges this pending event with a newer event of the same type and key. By default, the newer one is kept.
+     *
+     * @param newer the newer event
+     * @return the event to keep pending
+     */
+    default E coalesce(E newer) {
+        return newer;
+    }
+}
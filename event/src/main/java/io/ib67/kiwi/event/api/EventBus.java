@@ -25,7 +25,18 @@
 package io.ib67.kiwi.event.api;
 
 import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.util.AsmListenerResolver;
+import io.ib67.kiwi.event.util.EventTuple;
+import io.ib67.kiwi.routine.Interruption;
 import io.ib67.kiwi.routine.Uni;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * It delivers an {@link Event} to all {@link EventHandler} that is {@link #register(TypeToken)}ed in this object.
@@ -41,14 +52,121 @@ public interface EventBus {
 
     /**
      * Registers a {@link EventHandler} to receive events matching the typetoken.
-     * @param type
-     * @param handler
-     * @param <E>
+     * @param type type of events
+     * @param handler the handler
+     * @param <E> type of events
+     * @return a subscription that removes the handler when cancelled.
+     */
+    default <E extends Event> Subscription register(TypeToken<E> type, EventHandler<E> handler) {
+        return register(type, handler, null);
+    }
+
+    /**
+     * Registers a {@link EventHandler} on behalf of an owner, so it can be removed with other handlers of the same owner
+     * by {@link #unregisterAll(Object)}.
+     * @param type type of events
+     * @param handler the handler
+     * @param owner owner of the handler, compared by identity. Can be null if the handler has no owner.
+     * @param <E> type of events
+     * @return a subscription that removes the handler when cancelled.
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    <E extends Event> Subscription register(TypeToken<E> type, EventHandler<E> handler, @Nullable Object owner);
+
+    /**
+     * Registers a {@link EventHandler} that only receives events whose key equals the given one.
+     * See {@link #register(TypeToken, Function, Object, EventHandler, Object)}.
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    default <E extends Event, K> Subscription register(TypeToken<E> type, Function<? super E, ? extends K> keyExtractor, K key, EventHandler<E> handler) {
+        return register(type, keyExtractor, key, handler, null);
+    }
+
+    /**
+     * Registers a {@link EventHandler} that only receives events whose key equals the given one, such as events about
+     * a specific player. Buses may index such handlers by their keys, so that posting an event only costs as many
+     * handlers as there are for its key. Handlers are still called in the order of their priorities, along with
+     * handlers that are not keyed. By default, the handler is registered with a filter.
+     * @param type type of events
+     * @param keyExtractor extracts the key from events. Handlers are indexed per extractor instance, so it should be reused.
+     * @param key the key, compared by {@link Object#equals(Object)}
+     * @param handler the handler
+     * @param owner owner of the handler, compared by identity. Can be null if the handler has no owner.
+     * @param <E> type of events
+     * @param <K> type of keys
+     * @return a subscription that removes the handler when cancelled.
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    default <E extends Event, K> Subscription register(TypeToken<E> type, Function<? super E, ? extends K> keyExtractor, K key, EventHandler<E> handler, @Nullable Object owner) {
+        Objects.requireNonNull(keyExtractor);
+        Objects.requireNonNull(key);
+        return register(type, new EventHandler<>() {
+            @Override
+            public void handle(E event) throws Interruption {
+                if (key.equals(keyExtractor.apply(event))) {
+                    handler.handle(event);
+                }
+            }
+
+            @Override
+            public int priority() {
+                return handler.priority();
+            }
+
+            @Override
+            public String lane() {
+                return handler.lane();
+            }
+        }, owner);
+    }
+
+    /**
+     * Registers all subscriber methods of a host like {@link EventListenerHost#registerTo(EventBus)}, but handlers hold
+     * the host through a {@link WeakReference}, so that forgotten registrations do not keep it reachable. Handlers of a
+     * collected host do nothing. The handlers are owned by the reference, and by default they are only removed by the
+     * returned subscription. Buses may remove them once the host is collected.
+     * @param host the listener host
+     * @return a subscription that removes the handlers of the host.
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    default Subscription registerWeakly(EventListenerHost host) {
+        return registerWeakly(host, tuple -> true);
+    }
+
+    /**
+     * Registers handlers of a host weakly like {@link #registerWeakly(EventListenerHost)}, but only those accepted by
+     * the filter, such as handlers on a {@link EventHandler#lane()}. The filter is applied to every handler of the host
+     * once, before any handler is registered.
+     * @param host the listener host
+     * @param filter selects the handlers to register
+     * @return a subscription that removes the handlers of the host.
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    default Subscription registerWeakly(EventListenerHost host, Predicate<EventTuple<?>> filter) {
+        var reference = new WeakReference<>(host);
+        var handlers = new ArrayList<EventTuple<?>>();
+        for (EventTuple<?> tuple : AsmListenerResolver.resolveWeakHandlers(host, reference)) {
+            if (filter.test(tuple)) {
+                handlers.add(tuple);
+            }
+        }
+        var subscriptions = new ArrayList<Subscription>(handlers.size());
+        for (EventTuple<?> tuple : handlers) {
+            var _t = (EventTuple<Event>) tuple;
+            subscriptions.add(register(_t.type(), _t.handler(), reference));
+        }
+        return () -> subscriptions.forEach(Subscription::cancel);
+    }
+
+    /**
+     * Removes all handlers registered with the owner in a single batch.
+     * @param owner the owner
      */
-    <E extends Event> void register(TypeToken<E> type, EventHandler<E> handler);
+    @ApiStatus.AvailableSince("1.2.3")
+    void unregisterAll(Object owner);
 
-    default <E extends Event> void register(Class<E> type, EventHandler<E> handler) {
-        register(TypeToken.resolve(type), handler);
+    default <E extends Event> Subscription register(Class<E> type, EventHandler<E> handler) {
+        return register(TypeToken.resolve(type), handler);
     }
 
     default <E extends Event> Uni<E> register(TypeToken<E> type) {
@@ -25,6 +25,8 @@
 package io.ib67.kiwi.event.api;
 
 import io.ib67.kiwi.routine.Interruption;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Handler of events.
@@ -35,6 +37,7 @@ public interface EventHandler<E extends Event> {
      * This method will be called everytime when a new event is posted into the associating {@link EventBus}
      * @param event the new event
      * @throws Interruption to interrupt the event delivery. Subsequent handlers will not be aware of the event.
+     *                     Events which are cancelled often should implement {@link Cancellable} instead.
      */
     void handle(E event) throws Interruption;
 
@@ -45,4 +48,14 @@ public interface EventHandler<E extends Event> {
     default int priority() {
         return 0;
     }
+
+    /**
+     * The lane this handler runs on, such as a main thread or a pool for blocking IO. Buses that support lanes, like
+     * {@link io.ib67.kiwi.event.LaneEventBus}, hand events off to the lane, other buses call the handler on the posting thread.
+     * @return name of the lane, or null to run on the posting thread. should be constant once registered
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    default @Nullable String lane() {
+        return null;
+    }
 }
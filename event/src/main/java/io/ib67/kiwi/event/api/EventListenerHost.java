@@ -26,25 +26,53 @@ package io.ib67.kiwi.event.api;
 
 import io.ib67.kiwi.event.util.AsmListenerResolver;
 import io.ib67.kiwi.event.util.EventTuple;
+import io.ib67.kiwi.event.util.GeneratedListenerResolver;
 import lombok.SneakyThrows;
+import org.jetbrains.annotations.ApiStatus;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
 
 /**
  * Just a mark of classes that contain multiple methods annotated with {@link io.ib67.kiwi.event.api.annotation.SubscribeEvent}s.
  */
 public interface EventListenerHost {
     /**
-     * A utility method to register all handler methods to a bus.
+     * A utility method to register all handler methods to a bus. The host is used as the owner of its handlers.
+     * Handlers generated at compile time by the annotation processor are preferred, otherwise they are generated at runtime.
      * @param bus bus
+     * @return a subscription that removes the handlers registered by this call.
      */
     @SneakyThrows
-    default void registerTo(EventBus bus) {
-        var lookup = MethodHandles.privateLookupIn(this.getClass(), MethodHandles.lookup());
-        var handlers = new AsmListenerResolver(lookup, this).resolveHandlers();
+    default Subscription registerTo(EventBus bus) {
+        var handlers = GeneratedListenerResolver.resolveHandlers(this);
+        if (handlers == null) {
+            var lookup = MethodHandles.privateLookupIn(this.getClass(), MethodHandles.lookup());
+            handlers = new AsmListenerResolver(lookup, this).resolveHandlers();
+        }
+        var subscriptions = new ArrayList<Subscription>(handlers.size());
         handlers.forEach(t -> {
             var _t = (EventTuple<Event>) t;
-            bus.register(_t.type(), _t.handler());
+            subscriptions.add(bus.register(_t.type(), _t.handler(), this));
         });
+        return () -> subscriptions.forEach(Subscription::cancel);
+    }
+
+    /**
+     * Registers all handler methods to a bus, which holds this host weakly. See {@link EventBus#registerWeakly(EventListenerHost)}.
+     * @param bus bus
+     * @return a subscription that removes the handlers registered by this call.
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    default Subscription registerWeaklyTo(EventBus bus) {
+        return bus.registerWeakly(this);
+    }
+
+    /**
+     * Removes all handlers of this host from a bus in a single batch.
+     * @param bus bus
+     */
+    default void unregisterFrom(EventBus bus) {
+        bus.unregisterAll(this);
     }
 }
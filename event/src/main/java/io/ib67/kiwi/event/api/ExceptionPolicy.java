@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event.api;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Decides what a bus does when one of its handlers throws. Returning true delivers the event to the next handler,
+ * returning false stops delivering it. Policies are only consulted on failures, so they cost nothing when handlers succeed.
+ * Policies may be called from multiple threads at once.
+ */
+@FunctionalInterface
+@ApiStatus.AvailableSince("1.2.3")
+public interface ExceptionPolicy extends Predicate<Exception> {
+    /**
+     * Ignores the exception and continues with the next handler.
+     */
+    ExceptionPolicy CONTINUE = e -> true;
+    /**
+     * Stops delivering the event.
+     */
+    ExceptionPolicy ABORT = e -> false;
+
+    /**
+     * @param sink receives the exceptions
+     * @return a policy that passes the exception to the sink and continues with the next handler
+     */
+    static ExceptionPolicy continueWith(Consumer<? super Exception> sink) {
+        return e -> {
+            sink.accept(e);
+            return true;
+        };
+    }
+
+    /**
+     * @param sink receives the exceptions
+     * @return a policy that passes the exception to the sink and stops delivering the event
+     */
+    static ExceptionPolicy abortWith(Consumer<? super Exception> sink) {
+        return e -> {
+            sink.accept(e);
+            return false;
+        };
+    }
+
+    /**
+     * @return a policy that continues with the next handler and keeps exceptions until they are drained
+     */
+    static Collecting collect() {
+        return new Collecting();
+    }
+
+    /**
+     * Keeps every exception thrown by handlers, and always continues with the next handler.
+     */
+    final class Collecting implements ExceptionPolicy {
+        private final Queue<Exception> failures = new ConcurrentLinkedQueue<>();
+
+        private Collecting() {
+        }
+
+        @Override
+        public boolean test(Exception e) {
+            failures.add(e);
+            return true;
+        }
+
+        /**
+         * Removes and returns the collected exceptions.
+         *
+         * @return exceptions in the order they were thrown
+         */
+        public List<Exception> drain() {
+            var result = new ArrayList<Exception>();
+            Exception e;
+            while ((e = failures.poll()) != null) {
+                result.add(e);
+            }
+            return result;
+        }
+    }
+}
@@ -24,14 +24,23 @@
 
 package io.ib67.kiwi.event.api.annotation;
 
+import org.jetbrains.annotations.ApiStatus;
+
 import java.lang.annotation.*;
 
 /**
  * Annotates a method to be a {@link io.ib67.kiwi.event.api.EventHandler}. The declaring class of the method must be a {@link io.ib67.kiwi.event.api.EventListenerHost}
- * See also: {@link io.ib67.kiwi.event.util.AsmListenerResolver} and {@link io.ib67.kiwi.event.util.ReflectionListenerResolver}
+ * See also: {@link io.ib67.kiwi.event.util.AsmListenerResolver}, {@link io.ib67.kiwi.event.util.LambdaListenerResolver}, {@link io.ib67.kiwi.event.util.ReflectionListenerResolver}
+ * and {@link io.ib67.kiwi.event.util.GeneratedListenerResolver} for handlers generated by the {@code kiwi.event.processor} annotation processor.
  */
 @Documented
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface SubscribeEvent {
+    /**
+     * The lane the handler runs on, see {@link io.ib67.kiwi.event.api.EventHandler#lane()}.
+     * @return name of the lane, or empty to run on the posting thread
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    String lane() default "";
 }
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event.jfr;
+
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.util.ForwardingHandler;
+import io.ib67.kiwi.event.util.SubscriberHandler;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Emitted when a handler returns or throws. Called by {@link io.ib67.kiwi.event.HierarchyEventBus} for each handler it
+ * calls, or by its compiled dispatchers, so the event covers handlers of every resolver. {@link ForwardingHandler}s
+ * are unwrapped first, and the host class and method are reported for {@link SubscriberHandler}s.
+ */
+@Name("io.ib67.kiwi.event.HandlerInvoked")
+@Label("Handler Invoked")
+@Category({"Kiwi", "Event Bus"})
+@Description("Invocation of an event handler")
+@ApiStatus.AvailableSince("1.2.3")
+public final class HandlerInvoked extends Event {
+    @Label("Handler Class")
+    public Class<?> handlerClass;
+    @Label("Host Class")
+    public Class<?> hostClass;
+    @Label("Method")
+    public String method;
+    @Label("Event Type")
+    public String eventType;
+
+    /**
+     * Creates and begins an event. When recording is off, the JIT compiler removes both this call and
+     * {@link #end(EventHandler, io.ib67.kiwi.event.api.Event)} as the event doesn't escape.
+     *
+     * @return the started event
+     */
+    public static HandlerInvoked start() {
+        var event = new HandlerInvoked();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits the event if it is enabled and exceeds the threshold.
+     *
+     * @param handler the called handler
+     * @param event   the delivered event
+     */
+    public void end(EventHandler<?> handler, io.ib67.kiwi.event.api.Event event) {
+        if (shouldCommit()) {
+            var reported = unwrap(handler);
+            if (reported == null) {
+                return;
+            }
+            var subscriber = reported instanceof SubscriberHandler<?> it ? it : null;
+            end(reported.getClass(), subscriber == null ? null : subscriber.hostClass(), subscriber == null ? null : subscriber.methodName(), event);
+        }
+    }
+
+    /**
+     * Commits the event if it is enabled and exceeds the threshold. Called by compiled dispatchers, which look up the
+     * reported handler once.
+     *
+     * @param handlerClass class of the reported handler, see {@link #unwrap(EventHandler)}
+     * @param hostClass    host class of the subscriber if the handler is a {@link SubscriberHandler}
+     * @param method       name of the subscriber method if the handler is a {@link SubscriberHandler}
+     * @param event        the delivered event
+     */
+    public void end(Class<?> handlerClass, @Nullable Class<?> hostClass, @Nullable String method, io.ib67.kiwi.event.api.Event event) {
+        if (shouldCommit()) {
+            this.handlerClass = handlerClass;
+            this.hostClass = hostClass;
+            this.method = method;
+            this.eventType = event == null ? null : String.valueOf(event.type());
+            commit();
+        }
+    }
+
+    /**
+     * @param handler a called handler
+     * @return the handler to be reported, which is found by unwrapping {@link ForwardingHandler}s, or null if the
+     * handler reports the handlers it calls itself.
+     */
+    public static @Nullable EventHandler<?> unwrap(EventHandler<?> handler) {
+        while (handler instanceof ForwardingHandler<?> forwarding) {
+            handler = forwarding.delegate();
+        }
+        return handler;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event.metrics;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of all handlers tracked by an instrumented bus, see {@link io.ib67.kiwi.event.MeteredEventBus}.
+ * Handlers can be exposed as MBeans named {@code io.ib67.kiwi.event:type=EventHandler,bus=<bus>,id=<id>}.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public final class EventBusMetrics {
+    private static final String DOMAIN = "io.ib67.kiwi.event";
+    private final AtomicLong ids = new AtomicLong();
+    private final Set<HandlerMetrics> handlers = ConcurrentHashMap.newKeySet();
+    private @Nullable MBeanServer server;
+    private @Nullable String busName;
+
+    /**
+     * Starts tracking a new handler.
+     *
+     * @param name name of the handler, which doesn't need to be unique
+     * @return metrics of the handler
+     */
+    public synchronized HandlerMetrics track(String name) {
+        var metrics = new HandlerMetrics(name, ids.incrementAndGet());
+        handlers.add(metrics);
+        if (server != null) {
+            register(server, metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Stops tracking a handler and removes its MBean, if any.
+     *
+     * @param metrics metrics returned by {@link #track(String)}
+     */
+    public synchronized void untrack(HandlerMetrics metrics) {
+        if (handlers.remove(metrics) && server != null) {
+            unregister(server, metrics);
+        }
+    }
+
+    /**
+     * @return snapshots of every tracked handler, the handler with most time spent first
+     */
+    public List<HandlerMetrics.Snapshot> snapshot() {
+        return handlers.stream()
+                .map(HandlerMetrics::snapshot)
+                .sorted(Comparator.comparingLong((HandlerMetrics.Snapshot it) -> it.latency().totalNanos()).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        handlers.forEach(HandlerMetrics::reset);
+    }
+
+    /**
+     * Registers an MBean for every tracked handler, including those tracked later.
+     *
+     * @param server  where MBeans are registered
+     * @param busName identifies the bus among others in the server
+     */
+    public synchronized void registerMBeans(MBeanServer server, String busName) {
+        if (this.server != null) {
+            throw new IllegalStateException("MBeans are already registered under " + this.busName);
+        }
+        this.server = server;
+        this.busName = busName;
+        for (HandlerMetrics handler : handlers) {
+            register(server, handler);
+        }
+    }
+
+    /**
+     * Removes MBeans registered by {@link #registerMBeans(MBeanServer, String)}.
+     */
+    public synchronized void unregisterMBeans() {
+        if (server == null) {
+            return;
+        }
+        for (HandlerMetrics handler : handlers) {
+            unregister(server, handler);
+        }
+        server = null;
+        busName = null;
+    }
+
+    private ObjectName nameOf(HandlerMetrics metrics) throws JMException {
+        return new ObjectName(DOMAIN + ":type=EventHandler,bus=" + ObjectName.quote(busName) + ",id=" + metrics.id);
+    }
+
+    private void register(MBeanServer server, HandlerMetrics metrics) {
+        try {
+            server.registerMBean(metrics, nameOf(metrics));
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register MBean for " + metrics.getName(), e);
+        }
+    }
+
+    private void unregister(MBeanServer server, HandlerMetrics metrics) {
+        try {
+            server.unregisterMBean(nameOf(metrics));
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister MBean for " + metrics.getName(), e);
+        }
+    }
+}
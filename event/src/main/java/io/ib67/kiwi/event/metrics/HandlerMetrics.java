@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event.metrics;
+
+import io.ib67.kiwi.routine.Interruption;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latencies of a single handler. Created by {@link EventBusMetrics#track(String)}.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public final class HandlerMetrics implements HandlerMetricsMXBean {
+    private final String name;
+    final long id;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder interruptions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    HandlerMetrics(String name, long id) {
+        this.name = name;
+        this.id = id;
+    }
+
+    /**
+     * Records an invocation which returned normally.
+     *
+     * @param nanos time spent in the handler
+     */
+    public void recordSuccess(long nanos) {
+        invocations.increment();
+        latency.record(nanos);
+    }
+
+    /**
+     * Records an invocation which threw an {@link Interruption}, or cancelled a
+     * {@link io.ib67.kiwi.event.api.Cancellable} event.
+     *
+     * @param nanos time spent in the handler
+     */
+    public void recordInterruption(long nanos) {
+        interruptions.increment();
+        invocations.increment();
+        latency.record(nanos);
+    }
+
+    /**
+     * Records an invocation which threw anything else.
+     *
+     * @param nanos time spent in the handler
+     */
+    public void recordFailure(long nanos) {
+        failures.increment();
+        invocations.increment();
+        latency.record(nanos);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(name, invocations.sum(), interruptions.sum(), failures.sum(), latency.snapshot());
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    @Override
+    public long getInterruptions() {
+        return interruptions.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return latency.snapshot().totalNanos();
+    }
+
+    @Override
+    public double getMeanNanos() {
+        return latency.snapshot().meanNanos();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return latency.snapshot().valueAtPercentile(50);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return latency.snapshot().valueAtPercentile(99);
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return latency.snapshot().maxNanos();
+    }
+
+    @Override
+    public void reset() {
+        invocations.reset();
+        interruptions.reset();
+        failures.reset();
+        latency.reset();
+    }
+
+    /**
+     * @param name          name of the handler
+     * @param invocations   number of invocations, including interrupted and failed ones
+     * @param interruptions number of invocations that cancelled the event
+     * @param failures      number of invocations that threw other exceptions
+     * @param latency       time spent in the handler
+     */
+    public record Snapshot(
+            String name,
+            long invocations,
+            long interruptions,
+            long failures,
+            LatencyHistogram.Snapshot latency
+    ) {
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event.util;
+
+import io.ib67.kiwi.event.api.Cancellable;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.jfr.HandlerInvoked;
+import io.ib67.kiwi.routine.Interruption;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.ConstantDynamic;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Compiles a list of handlers into hidden classes that call every handler in a straight line.
+ * Handlers are loaded from class data as constant {@link MethodHandle}s, so the JIT can inline them as direct calls
+ * instead of doing a megamorphic {@link EventHandler#handle(Event)} call in a loop.
+ * <p>
+ * A compiled handler rethrows {@link Interruption}s, and passes other exceptions to the exception handler. If the
+ * exception handler returns false, {@link Interruption#INTERRUPTION} is thrown to stop the delivery. Each call emits a
+ * {@link HandlerInvoked} event for the compiled handler. The handler to report, along with its host class and method,
+ * is looked up once and passed as class data.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public class AsmDispatcherCompiler implements Opcodes {
+    /**
+     * Bigger methods are less likely to be compiled and optimized by the JIT, so handlers are split into classes of
+     * this size.
+     */
+    public static final int MAX_HANDLERS_PER_CLASS = 64;
+    protected static final String DUMP_PATH = System.getProperty("kiwi.event.asmdumpdir", null);
+    protected static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+    protected static final MethodType HANDLE_TYPE = MethodType.methodType(void.class, Event.class);
+    protected static final MethodHandle HANDLE;
+
+    static {
+        try {
+            HANDLE = MethodHandles.publicLookup().findVirtual(EventHandler.class, "handle", HANDLE_TYPE);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    protected final MethodHandles.Lookup lookup;
+
+    public AsmDispatcherCompiler() {
+        this(MethodHandles.lookup());
+    }
+
+    /**
+     * @param lookup where the hidden classes are defined. Generated code only refers to public classes.
+     */
+    public AsmDispatcherCompiler(MethodHandles.Lookup lookup) {
+        this.lookup = lookup;
+    }
+
+    /**
+     * Compiles handlers into one or more handlers which call them in order.
+     *
+     * @param handlers         handlers to be compiled
+     * @param exceptionHandler called when a handler throws. Returning false stops delivering the event.
+     * @return compiled handlers, at most one for every {@link #MAX_HANDLERS_PER_CLASS} handlers.
+     */
+    @SuppressWarnings("unchecked")
+    public EventHandler<Event>[] compile(EventHandler<Event>[] handlers, Predicate<Exception> exceptionHandler) {
+        var result = new ArrayList<EventHandler<Event>>();
+        for (int i = 0; i < handlers.length; i += MAX_HANDLERS_PER_CLASS) {
+            var chunk = Arrays.copyOfRange(handlers, i, Math.min(handlers.length, i + MAX_HANDLERS_PER_CLASS));
+            result.add(compileChunk(chunk, exceptionHandler));
+        }
+        return result.toArray(EventHandler[]::new);
+    }
+
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    protected EventHandler<Event> compileChunk(EventHandler<Event>[] handlers, Predicate<Exception> exceptionHandler) {
+        var classData = new ArrayList<>(handlers.length * 4 + 1);
+        for (EventHandler<Event> handler : handlers) {
+            classData.add(HANDLE.bindTo(handler));
+        }
+        classData.add(exceptionHandler);
+        var reported = new EventHandler<?>[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            reported[i] = HandlerInvoked.unwrap(handlers[i]);
+            var subscriber = reported[i] instanceof SubscriberHandler<?> it ? it : null;
+            classData.add(reported[i] == null ? null : reported[i].getClass());
+            classData.add(subscriber == null ? null : subscriber.hostClass());
+            classData.add(subscriber == null ? null : subscriber.methodName());
+        }
+        var hidden = lookup.defineHiddenClassWithClassData(generateDispatcher(reported), Collections.unmodifiableList(classData), true);
+        return (EventHandler<Event>) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+    }
+
+    /**
+     * @param reported handler reported in {@link HandlerInvoked} for each handler, see {@link HandlerInvoked#unwrap(EventHandler)}.
+     *                 Null if the handler reports the handlers it calls itself.
+     */
+    @SneakyThrows
+    protected byte[] generateDispatcher(EventHandler<?>[] reported) {
+        var handlerCount = reported.length;
+        var cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        var className = lookup.lookupClass().getPackageName().replace('.', '/') + "/CompiledDispatcher$" + CLASS_COUNTER.getAndIncrement();
+        cw.visit(
+                V21,
+                ACC_PUBLIC + ACC_FINAL + ACC_SUPER,
+                className,
+                null, "java/lang/Object", new String[]{Type.getInternalName(EventHandler.class)}
+        );
+        var constructor = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        var interruption = Type.getInternalName(Interruption.class);
+        var handle = cw.visitMethod(
+                ACC_PUBLIC + ACC_FINAL,
+                "handle", Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Event.class)),
+                null, new String[]{interruption}
+        );
+        var classDataAt = new Handle(
+                H_INVOKESTATIC, Type.getInternalName(MethodHandles.class), "classDataAt",
+                MethodType.methodType(Object.class, MethodHandles.Lookup.class, String.class, Class.class, int.class).toMethodDescriptorString(),
+                false
+        );
+        var cancellable = Type.getInternalName(Cancellable.class);
+        var exceptionHandler = new ConstantDynamic("_", Type.getDescriptor(Predicate.class), classDataAt, handlerCount);
+        var invoked = Type.getInternalName(HandlerInvoked.class);
+        for (int i = 0; i < handlerCount; i++) {
+            var start = new Label();
+            var end = new Label();
+            var onThrow = new Label();
+            var rethrow = new Label();
+            var check = new Label();
+            var next = new Label();
+            var report = reported[i] != null;
+            var subscriber = reported[i] instanceof SubscriberHandler<?>;
+            var reportedAt = handlerCount + 1 + 3 * i;
+            var handlerClass = new ConstantDynamic("_", Type.getDescriptor(Class.class), classDataAt, reportedAt);
+            var hostClass = subscriber ? new ConstantDynamic("_", Type.getDescriptor(Class.class), classDataAt, reportedAt + 1) : null;
+            var method = subscriber ? new ConstantDynamic("_", Type.getDescriptor(String.class), classDataAt, reportedAt + 2) : null;
+            if (report) {
+                handle.visitMethodInsn(INVOKESTATIC, invoked, "start", "()L" + invoked + ";", false);
+                handle.visitVarInsn(ASTORE, 3);
+            }
+            handle.visitTryCatchBlock(start, end, onThrow, null);
+            handle.visitLabel(start);
+            handle.visitLdcInsn(new ConstantDynamic("_", Type.getDescriptor(MethodHandle.class), classDataAt, i));
+            handle.visitVarInsn(ALOAD, 1);
+            handle.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(MethodHandle.class), "invokeExact", HANDLE_TYPE.toMethodDescriptorString(), false);
+            handle.visitLabel(end);
+            if (report) {
+                endHandlerInvoked(handle, handlerClass, hostClass, method);
+            }
+            handle.visitJumpInsn(GOTO, check);
+            handle.visitLabel(onThrow);
+            handle.visitVarInsn(ASTORE, 2);
+            if (report) {
+                endHandlerInvoked(handle, handlerClass, hostClass, method);
+            }
+            handle.visitVarInsn(ALOAD, 2);
+            handle.visitTypeInsn(INSTANCEOF, interruption);
+            handle.visitJumpInsn(IFNE, rethrow);
+            handle.visitVarInsn(ALOAD, 2);
+            handle.visitTypeInsn(INSTANCEOF, Type.getInternalName(Exception.class));
+            handle.visitJumpInsn(IFEQ, rethrow);
+            handle.visitLdcInsn(exceptionHandler);
+            handle.visitVarInsn(ALOAD, 2);
+            handle.visitMethodInsn(INVOKEINTERFACE, Type.getInternalName(Predicate.class), "test", "(Ljava/lang/Object;)Z", true);
+            handle.visitJumpInsn(IFNE, check); // a handler may cancel the event before throwing
+            handle.visitFieldInsn(GETSTATIC, interruption, "INTERRUPTION", Type.getDescriptor(Interruption.class));
+            handle.visitInsn(ATHROW);
+            handle.visitLabel(rethrow);
+            handle.visitVarInsn(ALOAD, 2);
+            handle.visitInsn(ATHROW);
+            handle.visitLabel(check);
+            if (i < handlerCount - 1) { // the bus checks the flag between chunks
+                handle.visitVarInsn(ALOAD, 1);
+                handle.visitTypeInsn(INSTANCEOF, cancellable);
+                handle.visitJumpInsn(IFEQ, next);
+                handle.visitVarInsn(ALOAD, 1);
+                handle.visitTypeInsn(CHECKCAST, cancellable);
+                handle.visitMethodInsn(INVOKEINTERFACE, cancellable, "isCancelled", "()Z", true);
+                handle.visitJumpInsn(IFEQ, next);
+                handle.visitInsn(RETURN);
+            }
+            handle.visitLabel(next);
+        }
+        handle.visitInsn(RETURN);
+        handle.visitMaxs(0, 0);
+        handle.visitEnd();
+        cw.visitEnd();
+        var result = cw.toByteArray();
+        if (DUMP_PATH != null) {
+            var file = Path.of(DUMP_PATH).resolve(className + ".class");
+            Files.createDirectories(file.getParent());
+            Files.write(file, result);
+        }
+        return result;
+    }
+
+    /**
+     * Emits {@code invoked.end(handlerClass, hostClass, method, event)} with the {@link HandlerInvoked} in local 3.
+     * The host class and method are null if they are.
+     */
+    private static void endHandlerInvoked(MethodVisitor handle, ConstantDynamic handlerClass, @Nullable ConstantDynamic hostClass, @Nullable ConstantDynamic method) {
+        handle.visitVarInsn(ALOAD, 3);
+        handle.visitLdcInsn(handlerClass);
+        if (hostClass == null) {
+            handle.visitInsn(ACONST_NULL);
+            handle.visitInsn(ACONST_NULL);
+        } else {
+            handle.visitLdcInsn(hostClass);
+            handle.visitLdcInsn(method);
+        }
+        handle.visitVarInsn(ALOAD, 1);
+        handle.visitMethodInsn(
+                INVOKEVIRTUAL, Type.getInternalName(HandlerInvoked.class), "end",
+                Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Class.class), Type.getType(Class.class), Type.getType(String.class), Type.getType(Event.class)),
+                false
+        );
+    }
+}
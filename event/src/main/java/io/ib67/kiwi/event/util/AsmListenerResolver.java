@@ -24,85 +24,315 @@
 
 package io.ib67.kiwi.event.util;
 
+import io.ib67.kiwi.event.api.Event;
 import io.ib67.kiwi.event.api.EventHandler;
 import io.ib67.kiwi.event.api.EventListenerHost;
 import io.ib67.kiwi.routine.Interruption;
 import io.ib67.kiwi.routine.Uni;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.Reference;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * An utilities that generates handler class for each subscriber methof from subclasses of {@link EventListenerHost}
+ * An utilities that generates handler class for subscriber methods from subclasses of {@link EventListenerHost}
+ * One class is generated for each host class. It implements every subscriber of the host and selects the method to call
+ * with a switch on the index of the subscriber, so a host with many subscribers only loads one class. The lane and the
+ * name of the subscriber are stored in the handler as well, see {@link SubscriberHandler}.
+ * Generated classes are cached per host class and mode, so resolving another instance of the same class only
+ * instantiates them.
+ * <p>
+ * By default, generated classes are defined in the class loader of the lookup and live as long as it does. In the
+ * hidden classes mode, they are defined as non-strong hidden classes, which are only reachable from the cache of the
+ * host class, so they can be unloaded along with the host class. Useful if listener classes are reloaded.
+ * <p>
+ * If a {@link Reference} to the host is given, generated handlers hold the host through it instead, and do nothing
+ * once it is cleared. They cost a null check over strong handlers.
  */
 @ApiStatus.AvailableSince("1.0.0")
 public class AsmListenerResolver extends ReflectionListenerResolver implements Opcodes {
     protected static final String DUMP_PATH = System.getProperty("kiwi.event.asmdumpdir", null);
     protected static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+    /**
+     * Constructors of generated handlers, as {@code (Object host)EventHandler}, keyed by host class and method.
+     */
+    protected static final ClassValue<Map<Method, MethodHandle>> HANDLER_FACTORIES = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    /**
+     * Constructors of generated handlers holding their host by {@link Reference}, as {@code (Object reference)EventHandler}.
+     */
+    protected static final ClassValue<Map<Method, MethodHandle>> WEAK_HANDLER_FACTORIES = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    /**
+     * Same as {@link #HANDLER_FACTORIES}, for handlers defined as hidden classes.
+     */
+    protected static final ClassValue<Map<Method, MethodHandle>> HIDDEN_HANDLER_FACTORIES = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    /**
+     * Same as {@link #WEAK_HANDLER_FACTORIES}, for handlers defined as hidden classes.
+     */
+    protected static final ClassValue<Map<Method, MethodHandle>> HIDDEN_WEAK_HANDLER_FACTORIES = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    protected final boolean hiddenClasses;
+    protected final @Nullable Reference<? extends EventListenerHost> hostReference;
 
     public AsmListenerResolver(MethodHandles.Lookup lookup, EventListenerHost host) {
+        this(lookup, host, false);
+    }
+
+    /**
+     * @param lookup        lookup with private access to the host class
+     * @param host          the listener host
+     * @param hiddenClasses defines handler classes as hidden classes, so that they can be unloaded with the host class.
+     *                      Requires a lookup with full privilege access, such as {@link MethodHandles#lookup()} in the host.
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    public AsmListenerResolver(MethodHandles.Lookup lookup, EventListenerHost host, boolean hiddenClasses) {
+        this(lookup, host, hiddenClasses, null);
+    }
+
+    /**
+     * @param lookup        lookup with private access to the host class
+     * @param host          the listener host
+     * @param hiddenClasses see {@link #AsmListenerResolver(MethodHandles.Lookup, EventListenerHost, boolean)}
+     * @param hostReference a reference to the host, which is held by generated handlers instead of the host if present.
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    public AsmListenerResolver(
+            MethodHandles.Lookup lookup,
+            EventListenerHost host,
+            boolean hiddenClasses,
+            @Nullable Reference<? extends EventListenerHost> hostReference
+    ) {
         super(lookup, host);
+        this.hiddenClasses = hiddenClasses;
+        this.hostReference = hostReference;
+        if (hostReference != null && hostReference.get() != host) {
+            throw new IllegalArgumentException("The reference does not refer to the host");
+        }
+    }
+
+    /**
+     * Resolves handlers of a host that hold it through a reference, see {@link #AsmListenerResolver(MethodHandles.Lookup, EventListenerHost, boolean, Reference)}.
+     * Handlers generated at compile time always hold their hosts, so they are not used.
+     *
+     * @param reference reference to the host
+     * @return handlers of the host
+     */
+    @SneakyThrows
+    @ApiStatus.AvailableSince("1.2.3")
+    public static List<EventTuple<?>> resolveWeakHandlers(EventListenerHost host, Reference<? extends EventListenerHost> reference) {
+        var lookup = MethodHandles.privateLookupIn(host.getClass(), MethodHandles.lookup());
+        return new AsmListenerResolver(lookup, host, false, Objects.requireNonNull(reference)).resolveHandlers();
     }
 
     @SneakyThrows
     @Override
     protected EventHandler<?> createEventHandler(Method method) {
-        var newClazz = defineEventHandlerClass(generateCaller(method));
-        return (EventHandler<?>) newClazz.getConstructor(host.getClass()).newInstance(host);
+        var factories = handlerFactories().get(host.getClass());
+        var factory = factories.get(method);
+        if (factory == null) {
+            synchronized (factories) { // factories of a host are published together, readers may see them partially.
+                factory = factories.get(method);
+                if (factory == null) {
+                    factories.putAll(createHandlerFactories(subscriberMethods()));
+                    factory = Objects.requireNonNull(factories.get(method), "Not a subscriber method: " + method);
+                }
+            }
+        }
+        return (EventHandler<?>) factory.invokeExact(hostReference == null ? (Object) host : hostReference);
+    }
+
+    /**
+     * @return the cache of handler factories for the mode of this resolver.
+     */
+    protected ClassValue<Map<Method, MethodHandle>> handlerFactories() {
+        if (hostReference == null) {
+            return hiddenClasses ? HIDDEN_HANDLER_FACTORIES : HANDLER_FACTORIES;
+        }
+        return hiddenClasses ? HIDDEN_WEAK_HANDLER_FACTORIES : WEAK_HANDLER_FACTORIES;
     }
 
+    /**
+     * Generates a handler class for all subscriber methods of a host class.
+     *
+     * @param methods subscriber methods, all declared by the same class.
+     * @return constructors of handlers calling each method, as {@code (Object host)EventHandler}, or
+     * {@code (Object reference)EventHandler} if handlers hold the host by reference.
+     */
     @SneakyThrows
-    protected byte[] generateCaller(Method method) {
+    protected Map<Method, MethodHandle> createHandlerFactories(List<Method> methods) {
+        var hostClass = methods.getFirst().getDeclaringClass();
+        var newClazz = defineEventHandlerClass(generateCaller(hostClass, methods));
+        var heldType = hostReference == null ? hostClass : Reference.class;
+        var constructor = lookup.findConstructor(newClazz, MethodType.methodType(void.class, heldType, int.class, String.class, String.class))
+                .asType(MethodType.methodType(EventHandler.class, Object.class, int.class, String.class, String.class));
+        var result = new HashMap<Method, MethodHandle>(methods.size());
+        for (int i = 0; i < methods.size(); i++) {
+            var method = methods.get(i);
+            result.put(method, MethodHandles.insertArguments(constructor, 1, i, lane(method), method.getName()));
+        }
+        return result;
+    }
+
+    @SneakyThrows
+    protected byte[] generateCaller(Class<?> hostClass, List<Method> methods) {
         //todo doc: default methods as subscribers are not supported.
         var handlerMethod = Uni.of(EventHandler.class.getMethods()).filter(it -> !it.isDefault()).takeOne();
         assert handlerMethod != null;
         var cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
-        var hostInternalName = Type.getInternalName(method.getDeclaringClass());
-        var accessorName = hostInternalName + "$" + method.getName() + "$" + CLASS_COUNTER.getAndIncrement();
+        var hostInternalName = Type.getInternalName(hostClass);
+        var hostDescriptor = Type.getDescriptor(hostClass);
+        var weak = hostReference != null;
+        var heldDescriptor = weak ? Type.getDescriptor(Reference.class) : hostDescriptor;
+        var accessorName = hostInternalName + "$Handlers$" + CLASS_COUNTER.getAndIncrement();
         cw.visit(
                 V21,
                 ACC_PUBLIC + ACC_FINAL,
                 accessorName,
-                null, "java/lang/Object", new String[]{Type.getInternalName(EventHandler.class)}
+                null, "java/lang/Object", new String[]{Type.getInternalName(SubscriberHandler.class)}
         );
         cw.visitField(
                 ACC_PRIVATE + ACC_FINAL,
                 "listenerHost",
-                Type.getDescriptor(method.getDeclaringClass()),
+                heldDescriptor,
+                null, null
+        ).visitEnd();
+        cw.visitField(
+                ACC_PRIVATE + ACC_FINAL,
+                "index",
+                "I",
+                null, null
+        ).visitEnd();
+        cw.visitField(
+                ACC_PRIVATE + ACC_FINAL,
+                "lane",
+                "Ljava/lang/String;",
+                null, null
+        ).visitEnd();
+        cw.visitField(
+                ACC_PRIVATE + ACC_FINAL,
+                "methodName",
+                "Ljava/lang/String;",
                 null, null
         ).visitEnd();
-        var constructor = cw.visitMethod(ACC_PUBLIC, "<init>", "(L" + hostInternalName + ";)V", null, null);
+        var constructor = cw.visitMethod(ACC_PUBLIC, "<init>", "(" + heldDescriptor + "ILjava/lang/String;Ljava/lang/String;)V", null, null);
         constructor.visitVarInsn(ALOAD, 0);
         constructor.visitInsn(DUP);
         constructor.visitMethodInsn(INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
         constructor.visitVarInsn(ALOAD, 1);
         constructor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(Objects.class), "requireNonNull", "(Ljava/lang/Object;)Ljava/lang/Object;", false);
-        constructor.visitTypeInsn(CHECKCAST, Type.getInternalName(method.getDeclaringClass()));
-        constructor.visitFieldInsn(PUTFIELD, accessorName, "listenerHost", Type.getDescriptor(method.getDeclaringClass()));
+        constructor.visitTypeInsn(CHECKCAST, weak ? Type.getInternalName(Reference.class) : hostInternalName);
+        constructor.visitFieldInsn(PUTFIELD, accessorName, "listenerHost", heldDescriptor);
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitVarInsn(ILOAD, 2);
+        constructor.visitFieldInsn(PUTFIELD, accessorName, "index", "I");
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitVarInsn(ALOAD, 3);
+        constructor.visitFieldInsn(PUTFIELD, accessorName, "lane", "Ljava/lang/String;");
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitVarInsn(ALOAD, 4);
+        constructor.visitFieldInsn(PUTFIELD, accessorName, "methodName", "Ljava/lang/String;");
         constructor.visitInsn(RETURN);
-        constructor.visitMaxs(3, 3);
+        constructor.visitMaxs(3, 5);
         constructor.visitEnd();
+        var lane = cw.visitMethod(ACC_PUBLIC + ACC_FINAL, "lane", "()Ljava/lang/String;", null, null);
+        lane.visitVarInsn(ALOAD, 0);
+        lane.visitFieldInsn(GETFIELD, accessorName, "lane", "Ljava/lang/String;");
+        lane.visitInsn(ARETURN);
+        lane.visitMaxs(1, 1);
+        lane.visitEnd();
+        var methodName = cw.visitMethod(ACC_PUBLIC + ACC_FINAL, "methodName", "()Ljava/lang/String;", null, null);
+        methodName.visitVarInsn(ALOAD, 0);
+        methodName.visitFieldInsn(GETFIELD, accessorName, "methodName", "Ljava/lang/String;");
+        methodName.visitInsn(ARETURN);
+        methodName.visitMaxs(1, 1);
+        methodName.visitEnd();
+        var hostClassMethod = cw.visitMethod(ACC_PUBLIC + ACC_FINAL, "hostClass", "()Ljava/lang/Class;", null, null);
+        hostClassMethod.visitLdcInsn(Type.getType(hostClass));
+        hostClassMethod.visitInsn(ARETURN);
+        hostClassMethod.visitMaxs(1, 1);
+        hostClassMethod.visitEnd();
         var handle = cw.visitMethod(
                 ACC_PUBLIC + ACC_FINAL,
                 "handle", Type.getMethodDescriptor(handlerMethod), // this is an assertion
                 null, new String[]{Type.getInternalName(Interruption.class)}
         );
+        var cases = new Label[methods.size()];
+        for (int i = 0; i < cases.length; i++) {
+            cases[i] = new Label();
+        }
+        var unknownIndex = new Label();
+        if (weak) { // the host is kept in local 2 while the handler runs.
+            var alive = new Label();
+            handle.visitVarInsn(ALOAD, 0);
+            handle.visitFieldInsn(GETFIELD, accessorName, "listenerHost", heldDescriptor);
+            handle.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(Reference.class), "get", "()Ljava/lang/Object;", false);
+            handle.visitInsn(DUP);
+            handle.visitJumpInsn(IFNONNULL, alive);
+            handle.visitInsn(POP);
+            handle.visitInsn(RETURN);
+            handle.visitLabel(alive);
+            handle.visitTypeInsn(CHECKCAST, hostInternalName);
+            handle.visitVarInsn(ASTORE, 2);
+        }
         handle.visitVarInsn(ALOAD, 0);
-        handle.visitFieldInsn(GETFIELD, accessorName, "listenerHost", Type.getDescriptor(method.getDeclaringClass()));
-        handle.visitVarInsn(ALOAD, 1);
-        handle.visitTypeInsn(CHECKCAST, Type.getInternalName(method.getParameterTypes()[0]));
-        handle.visitMethodInsn(INVOKEVIRTUAL, hostInternalName, method.getName(), Type.getMethodDescriptor(method), false);
-        handle.visitInsn(RETURN);
-        handle.visitMaxs(2, 2);
+        handle.visitFieldInsn(GETFIELD, accessorName, "index", "I");
+        handle.visitTableSwitchInsn(0, cases.length - 1, unknownIndex, cases);
+        for (int i = 0; i < cases.length; i++) {
+            var method = methods.get(i);
+            handle.visitLabel(cases[i]);
+            if (weak) {
+                handle.visitVarInsn(ALOAD, 2);
+            } else {
+                handle.visitVarInsn(ALOAD, 0);
+                handle.visitFieldInsn(GETFIELD, accessorName, "listenerHost", hostDescriptor);
+            }
+            handle.visitVarInsn(ALOAD, 1);
+            handle.visitTypeInsn(CHECKCAST, Type.getInternalName(method.getParameterTypes()[0]));
+            handle.visitMethodInsn(INVOKEVIRTUAL, hostInternalName, method.getName(), Type.getMethodDescriptor(method), false);
+            handle.visitInsn(RETURN);
+        }
+        handle.visitLabel(unknownIndex);
+        handle.visitTypeInsn(NEW, Type.getInternalName(IllegalStateException.class));
+        handle.visitInsn(DUP);
+        handle.visitMethodInsn(INVOKESPECIAL, Type.getInternalName(IllegalStateException.class), "<init>", "()V", false);
+        handle.visitInsn(ATHROW);
+        handle.visitMaxs(2, 3);
         handle.visitEnd();
         cw.visitEnd();
         var result = cw.toByteArray();
@@ -116,7 +346,9 @@ public class AsmListenerResolver extends ReflectionListenerResolver implements O
 
     @SneakyThrows
     protected Class<?> defineEventHandlerClass(byte[] method) {
-//        Files.write(Path.of("Test.class"), result); //todo dump option
+        if (hiddenClasses) {
+            return lookup.defineHiddenClass(method, true).lookupClass();
+        }
         return lookup.defineClass(method);
     }
 }
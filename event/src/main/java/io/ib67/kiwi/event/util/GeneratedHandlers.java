@@ -0,0 +1,45 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event.util;
+
+import io.ib67.kiwi.event.api.EventListenerHost;
+
+import java.util.List;
+
+/**
+ * Handlers of a listener host generated at compile time by the {@code kiwi.event.processor} annotation processor.
+ * Implementations are named after the binary name of the host class with {@link GeneratedListenerResolver#SUFFIX},
+ * and are looked up by {@link GeneratedListenerResolver}.
+ *
+ * @param <H> type of the listener host
+ */
+public interface GeneratedHandlers<H extends EventListenerHost> {
+    /**
+     * Creates handlers for all subscriber methods of the host.
+     *
+     * @param host the listener host
+     * @return handlers of the host
+     */
+    List<EventTuple<?>> resolveHandlers(H host);
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event.util;
+
+import io.ib67.kiwi.event.api.EventListenerHost;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resolves handlers from {@link GeneratedHandlers} generated at compile time, without reflection or runtime code
+ * generation. Hosts that were not processed by the annotation processor should fall back to
+ * {@link AsmListenerResolver} or {@link ReflectionListenerResolver}.
+ * <p>
+ * There is no global registration index. The generated class of a host is found by its name, {@code Host$$KiwiHandlers}
+ * next to the host in the same class loader, and is loaded once per host class on its first registration. This keeps
+ * separately compiled modules and class loaders independent of each other, at the cost of one
+ * {@link Class#forName(String, boolean, ClassLoader)} per host class.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public final class GeneratedListenerResolver {
+    /**
+     * Appended to the binary name of a host class to get the name of its generated handlers.
+     */
+    public static final String SUFFIX = "$$KiwiHandlers";
+    /**
+     * Generated handlers of host classes, found by name. Looked up once per class.
+     */
+    private static final ClassValue<Optional<GeneratedHandlers<?>>> GENERATED = new ClassValue<>() {
+        @Override
+        protected Optional<GeneratedHandlers<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(loadGenerated(type));
+        }
+    };
+
+    private GeneratedListenerResolver() {
+    }
+
+    /**
+     * Resolves pregenerated handlers of a host.
+     *
+     * @param host the listener host
+     * @return handlers of the host, or null if the host class has no generated handlers.
+     */
+    @SuppressWarnings("unchecked")
+    public static @Nullable List<EventTuple<?>> resolveHandlers(EventListenerHost host) {
+        var generated = (Optional<GeneratedHandlers<EventListenerHost>>) (Optional<?>) GENERATED.get(host.getClass());
+        return generated.map(it -> it.resolveHandlers(host)).orElse(null);
+    }
+
+    @SneakyThrows
+    private static @Nullable GeneratedHandlers<?> loadGenerated(Class<?> hostClass) {
+        Class<?> generatedClass;
+        try {
+            generatedClass = Class.forName(hostClass.getName() + SUFFIX, true, hostClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        if (!GeneratedHandlers.class.isAssignableFrom(generatedClass)) {
+            return null;
+        }
+        var lookup = MethodHandles.privateLookupIn(generatedClass, MethodHandles.lookup());
+        return (GeneratedHandlers<?>) lookup.findConstructor(generatedClass, MethodType.methodType(void.class)).invoke();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event.util;
+
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An utilities that implements {@link EventHandler} for each subscriber method from subclasses of {@link EventListenerHost}
+ * with {@link LambdaMetafactory}, just like a method reference {@code host::onEvent} does.
+ * Handler factories are cached per host class and lookup class, so resolving another instance of the same class with
+ * the same lookup only instantiates them. Handlers are defined as nestmates of the lookup class.
+ * The lookup must have full privilege access to the host class, e.g. {@link MethodHandles#lookup()} in the host's module.
+ * <p>
+ * Lambdas can't override {@link EventHandler#lane()}, so subscribers with a lane get handlers from
+ * {@link ReflectionListenerResolver} instead.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public class LambdaListenerResolver extends ReflectionListenerResolver {
+    private static final MethodType HANDLE_TYPE = MethodType.methodType(void.class, Event.class);
+    /**
+     * Factories of lambda handlers, as {@code (Object host)EventHandler}, keyed by host class, lookup class and method.
+     */
+    protected static final ClassValue<Map<FactoryKey, MethodHandle>> HANDLER_FACTORIES = new ClassValue<>() {
+        @Override
+        protected Map<FactoryKey, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    public LambdaListenerResolver(MethodHandles.Lookup lookup, EventListenerHost host) {
+        super(lookup, host);
+    }
+
+    @SneakyThrows
+    @Override
+    protected EventHandler<?> createEventHandler(Method method) {
+        if (lane(method) != null) {
+            return super.createEventHandler(method);
+        }
+        var factory = HANDLER_FACTORIES.get(host.getClass())
+                .computeIfAbsent(new FactoryKey(lookup.lookupClass(), method), key -> createHandlerFactory(key.method()));
+        return (EventHandler<?>) factory.invokeExact((Object) host);
+    }
+
+    @SneakyThrows
+    protected MethodHandle createHandlerFactory(Method method) {
+        var hostClass = method.getDeclaringClass();
+        var callSite = LambdaMetafactory.metafactory(
+                lookup,
+                "handle",
+                MethodType.methodType(EventHandler.class, hostClass),
+                HANDLE_TYPE,
+                lookup.unreflect(method),
+                MethodType.methodType(void.class, method.getParameterTypes()[0])
+        );
+        return callSite.getTarget().asType(MethodType.methodType(EventHandler.class, Object.class));
+    }
+
+    protected record FactoryKey(Class<?> lookupClass, Method method) {
+    }
+}
@@ -31,6 +31,8 @@ import io.ib67.kiwi.event.api.EventListenerHost;
 import io.ib67.kiwi.event.api.annotation.SubscribeEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
@@ -40,8 +42,19 @@ import java.util.List;
 
 /**
  * An utilities that generates MethodHandle handlers for each subscriber methof from subclasses of {@link EventListenerHost}
+ * Handlers report the {@link SubscribeEvent#lane()} of their subscriber from {@link EventHandler#lane()}, and the
+ * subscriber itself as a {@link SubscriberHandler}.
  */
 public class ReflectionListenerResolver {
+    /**
+     * Subscriber methods of host classes. Scanned once per class.
+     */
+    private static final ClassValue<List<SubscriberMethod>> SUBSCRIBERS = new ClassValue<>() {
+        @Override
+        protected List<SubscriberMethod> computeValue(Class<?> type) {
+            return scanSubscribers(type);
+        }
+    };
     protected final EventListenerHost host;
     protected final MethodHandles.Lookup lookup;
 
@@ -55,35 +68,94 @@ public class ReflectionListenerResolver {
 
     @SneakyThrows
     public List<EventTuple<?>> resolveHandlers() {
-        var hostType = TypeToken.resolve(host.getClass());
-        var result = new ArrayList<EventTuple<?>>();
-        var methods = host.getClass().getDeclaredMethods();
-        for (Method method : methods) {
+        var subscribers = SUBSCRIBERS.get(host.getClass());
+        var result = new ArrayList<EventTuple<?>>(subscribers.size());
+        for (SubscriberMethod subscriber : subscribers) {
+            result.add(new EventTuple(subscriber.type(), createEventHandler(subscriber.method())));
+        }
+        return result;
+    }
+
+    /**
+     * @return subscriber methods of the host, in the order of {@link #resolveHandlers()}
+     */
+    protected List<Method> subscriberMethods() {
+        var subscribers = SUBSCRIBERS.get(host.getClass());
+        var result = new ArrayList<Method>(subscribers.size());
+        for (SubscriberMethod subscriber : subscribers) {
+            result.add(subscriber.method());
+        }
+        return result;
+    }
+
+    private static List<SubscriberMethod> scanSubscribers(Class<?> hostClass) {
+        // TypeToken.resolve caches the token, which would keep reloaded host classes from being unloaded.
+        // Type variables of the host are resolved to their first bound by the raw host type instead.
+        var rawHostType = new TypeToken<>(hostClass);
+        var typeVariables = hostClass.getTypeParameters();
+        var typeParams = new TypeToken<?>[typeVariables.length];
+        for (int i = 0; i < typeVariables.length; i++) {
+            typeParams[i] = rawHostType.resolveType(typeVariables[i].getBounds()[0]);
+        }
+        var hostType = new TypeToken<>(hostClass, typeParams);
+        var result = new ArrayList<SubscriberMethod>();
+        for (Method method : hostClass.getDeclaredMethods()) {
             if (!method.isAnnotationPresent(SubscribeEvent.class)) {
                 continue;
             }
             if (method.getReturnType() == void.class
                     && method.getParameterCount() == 1
                     && Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
-                result.add(new EventTuple(hostType.resolveType(method.getGenericParameterTypes()[0]), createEventHandler(method)));
+                result.add(new SubscriberMethod(method, hostType.resolveType(method.getGenericParameterTypes()[0])));
             }
         }
-        return result;
+        return List.copyOf(result);
     }
 
     @SneakyThrows
     protected EventHandler<?> createEventHandler(Method method) {
-        return new MHEventHandler(lookup.unreflect(method).bindTo(host));
+        return new MHEventHandler(lookup.unreflect(method).bindTo(host), lane(method), method.getDeclaringClass(), method.getName());
+    }
+
+    /**
+     * @param method a subscriber method
+     * @return the {@link SubscribeEvent#lane()} of the subscriber, or null if it runs on the posting thread
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    protected static @Nullable String lane(Method method) {
+        var lane = method.getAnnotation(SubscribeEvent.class).lane();
+        return lane.isEmpty() ? null : lane;
+    }
+
+    private record SubscriberMethod(Method method, TypeToken<?> type) {
     }
 
     @RequiredArgsConstructor
-    static final class MHEventHandler<E extends Event> implements EventHandler<E> {
+    static final class MHEventHandler<E extends Event> implements SubscriberHandler<E> {
         private final MethodHandle handle;
+        private final String lane;
+        private final Class<?> hostClass;
+        private final String methodName;
 
         @Override
         @SneakyThrows
         public void handle(Event event) {
             handle.invoke(event); // the method handle is bound.
         }
+
+        @Override
+        public @Nullable String lane() {
+            return lane;
+        }
+
+        @Override
+        public Class<?> hostClass() {
+            return hostClass;
+        }
+
+        @Override
+        public String methodName() {
+            return methodName;
+        }
     }
 }
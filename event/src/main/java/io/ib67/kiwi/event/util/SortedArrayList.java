@@ -21,20 +21,20 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-
 package io.ib67.kiwi.event.util;
 
-import io.ib67.kiwi.routine.Uni;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 import static java.util.Collections.binarySearch;
 
 /**
  * A List implementation backed by ArrayList with sort-at-insertion, offering fast access and slow insertion.
+ * Elements that compare equal are kept in insertion order.
  *
  * @param <E>
  */
@@ -42,6 +42,7 @@ import static java.util.Collections.binarySearch;
 public class SortedArrayList<E> implements List<E> {
     protected final Comparator<? super E> comparator;
     protected final List<E> backingList;
+    private volatile Object[] snapshot;
 
     /**
      * Copy constructor.
@@ -60,15 +61,90 @@ public class SortedArrayList<E> implements List<E> {
         return comparator;
     }
 
+    /**
+     * Returns the elements as an array, in order. The array is cached until the list is modified,
+     * so iterating over it allocates nothing and is not affected by modifications made during the iteration.
+     * The returned array must not be modified.
+     *
+     * @return a shared array of the elements
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    public Object[] snapshot() {
+        var array = snapshot;
+        if (array == null) {
+            array = backingList.toArray();
+            snapshot = array;
+        }
+        return array;
+    }
+
+    /**
+     * Creates a copy of this list which can not be modified.
+     *
+     * @return an unmodifiable copy
+     */
+    @ApiStatus.AvailableSince("1.2.3")
+    public SortedArrayList<E> immutableCopy() {
+        return new SortedArrayList<>(List.copyOf(backingList), comparator);
+    }
+
+    /**
+     * Called after every modification of the list.
+     */
+    protected void modified() {
+        snapshot = null;
+    }
+
     protected int indexOfThrow(E element) {
         Objects.requireNonNull(element, "element");
-        var index = binarySearch(backingList, element, comparator);
+        var index = indexOfElement(element);
         if (index < 0) {
             throw new NoSuchElementException(element.toString());
         }
         return index;
     }
 
+    /**
+     * Finds the element by binary search, then scans the run of elements that compare equal to it,
+     * since they are not necessarily {@link Object#equals(Object)} to each other.
+     *
+     * @param element element to find
+     * @return index of the element, or -1 if absent
+     */
+    protected int indexOfElement(E element) {
+        var index = binarySearch(backingList, element, comparator);
+        if (index < 0) {
+            return -1;
+        }
+        for (int i = index; i >= 0 && comparator.compare(backingList.get(i), element) == 0; i--) {
+            if (element.equals(backingList.get(i))) return i;
+        }
+        for (int i = index + 1; i < backingList.size() && comparator.compare(backingList.get(i), element) == 0; i++) {
+            if (element.equals(backingList.get(i))) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the index after the last element that does not compare greater than the given one.
+     *
+     * @param element element to insert
+     * @return where the element should be inserted
+     */
+    protected int insertionIndex(E element) {
+        int low = 0;
+        int high = backingList.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(backingList.get(mid), element) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     @Override
     public int size() {
         return backingList.size();
@@ -82,12 +158,12 @@ public class SortedArrayList<E> implements List<E> {
     @Override
     public boolean contains(Object o) {
         if (o == null) return false;
-        return binarySearch(backingList, (E) o, comparator) >= 0;
+        return indexOfElement((E) o) >= 0;
     }
 
     @Override
     public @NotNull Iterator<E> iterator() {
-        return backingList.iterator();
+        return new Itr(backingList.listIterator());
     }
 
     @Override
@@ -105,29 +181,20 @@ public class SortedArrayList<E> implements List<E> {
         if (e == null) {
             throw new IllegalArgumentException("Cannot add null element");
         }
-        if (backingList.isEmpty()) {
-            return backingList.add(e);
-        }
-        for (int i = 0; i < backingList.size(); i++) {
-            var element = backingList.get(i);
-            if (comparator.compare(element, e) < 0) {
-                continue;
-            }
-            backingList.add(i, e);
-            return true;
-        }
-        backingList.add(e);
+        backingList.add(insertionIndex(e), e);
+        modified();
         return true;
     }
 
     @Override
     public boolean remove(Object o) {
         if (o == null) return false;
-        var index = binarySearch(backingList, (E) o, comparator);
+        var index = indexOfElement((E) o);
         if (index < 0) {
             return false;
         }
         backingList.remove(index);
+        modified();
         return true;
     }
 
@@ -136,9 +203,40 @@ public class SortedArrayList<E> implements List<E> {
         return new HashSet<>(backingList).containsAll(c);
     }
 
+    /**
+     * Sorts the elements once and merges them into the list, instead of inserting them one by one.
+     * Elements of equal order are placed after the existing ones, in the iteration order of the collection.
+     */
     @Override
     public boolean addAll(@NotNull Collection<? extends E> c) {
-        return Uni.from(c::forEach).any(this::add);
+        var added = (E[]) c.toArray();
+        if (added.length == 0) {
+            return false;
+        }
+        for (E e : added) {
+            if (e == null) {
+                throw new IllegalArgumentException("Cannot add null element");
+            }
+        }
+        Arrays.sort(added, comparator);
+        var size = backingList.size();
+        if (size == 0 || comparator.compare(backingList.get(size - 1), added[0]) <= 0) {
+            backingList.addAll(Arrays.asList(added));
+            modified();
+            return true;
+        }
+        var existing = (E[]) backingList.toArray();
+        var merged = (E[]) new Object[existing.length + added.length];
+        int i = 0, j = 0, k = 0;
+        while (i < existing.length && j < added.length) {
+            merged[k++] = comparator.compare(added[j], existing[i]) < 0 ? added[j++] : existing[i++];
+        }
+        System.arraycopy(existing, i, merged, k, existing.length - i);
+        System.arraycopy(added, j, merged, k + existing.length - i, added.length - j);
+        backingList.clear();
+        backingList.addAll(Arrays.asList(merged));
+        modified();
+        return true;
     }
 
     @Override
@@ -148,17 +246,29 @@ public class SortedArrayList<E> implements List<E> {
 
     @Override
     public boolean retainAll(@NotNull Collection<?> c) {
-        return backingList.retainAll(c);
+        var changed = backingList.retainAll(c);
+        if (changed) modified();
+        return changed;
     }
 
     @Override
     public boolean removeAll(@NotNull Collection<?> c) {
-        return backingList.removeAll(c);
+        var changed = backingList.removeAll(c);
+        if (changed) modified();
+        return changed;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        var changed = backingList.removeIf(filter);
+        if (changed) modified();
+        return changed;
     }
 
     @Override
     public void clear() {
         backingList.clear();
+        modified();
     }
 
     @Override
@@ -178,7 +288,9 @@ public class SortedArrayList<E> implements List<E> {
 
     @Override
     public E remove(int index) {
-        return backingList.remove(index);
+        var removed = backingList.remove(index);
+        modified();
+        return removed;
     }
 
     @Override
@@ -193,12 +305,12 @@ public class SortedArrayList<E> implements List<E> {
 
     @Override
     public @NotNull ListIterator<E> listIterator() {
-        return backingList.listIterator();
+        return new Itr(backingList.listIterator());
     }
 
     @Override
     public @NotNull ListIterator<E> listIterator(int index) {
-        return backingList.listIterator(index);
+        return new Itr(backingList.listIterator(index));
     }
 
     @Override
@@ -208,6 +320,71 @@ public class SortedArrayList<E> implements List<E> {
                         fromIndex,
                         toIndex
                 ), comparator
-        );
+        ) {
+            @Override
+            protected void modified() {
+                super.modified();
+                SortedArrayList.this.modified();
+            }
+        };
+    }
+
+    /**
+     * Drops the cached snapshot when the list is modified through an iterator.
+     */
+    private class Itr implements ListIterator<E> {
+        private final ListIterator<E> delegate;
+
+        Itr(ListIterator<E> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public E next() {
+            return delegate.next();
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return delegate.hasPrevious();
+        }
+
+        @Override
+        public E previous() {
+            return delegate.previous();
+        }
+
+        @Override
+        public int nextIndex() {
+            return delegate.nextIndex();
+        }
+
+        @Override
+        public int previousIndex() {
+            return delegate.previousIndex();
+        }
+
+        @Override
+        public void remove() {
+            delegate.remove();
+            modified();
+        }
+
+        @Override
+        public void set(E e) {
+            delegate.set(e);
+            modified();
+        }
+
+        @Override
+        public void add(E e) {
+            delegate.add(e);
+            modified();
+        }
     }
 }
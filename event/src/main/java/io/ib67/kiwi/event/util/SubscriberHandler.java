@@ -0,0 +1,48 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event.util;
+
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventHandler;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A handler calling a subscriber method of a listener host, as created by listener resolvers. Reported along with its
+ * method by {@link io.ib67.kiwi.event.jfr.HandlerInvoked}. Lambdas created by {@link LambdaListenerResolver} can't
+ * implement it, so only their classes are reported.
+ *
+ * @param <E> type of event
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public interface SubscriberHandler<E extends Event> extends EventHandler<E> {
+    /**
+     * @return the class declaring the subscriber method
+     */
+    Class<?> hostClass();
+
+    /**
+     * @return name of the subscriber method
+     */
+    String methodName();
+}
@@ -5,9 +5,13 @@ module kiwi.event {
     requires kiwi.lang;
     requires static lombok;
     requires org.jetbrains.annotations;
+    requires java.management;
+    requires jdk.jfr;
     requires org.objectweb.asm;
     exports io.ib67.kiwi.event;
     exports io.ib67.kiwi.event.api;
     exports io.ib67.kiwi.event.api.annotation;
+    exports io.ib67.kiwi.event.jfr;
+    exports io.ib67.kiwi.event.metrics;
     exports io.ib67.kiwi.event.util;
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.routine.Interruption;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestAsyncEventBus {
+    static class TestEvent implements Event {
+    }
+
+    @Test
+    void testVirtualThreads() throws Exception {
+        try (var bus = AsyncEventBus.ofVirtualThreads()) {
+            var thread = new CompletableFuture<Thread>();
+            bus.register(TestEvent.class, event -> thread.complete(Thread.currentThread()));
+            assertTrue(bus.postAsync(new TestEvent()).get(5, TimeUnit.SECONDS));
+            assertTrue(thread.get().isVirtual());
+        }
+    }
+
+    @Test
+    void testPlatformThreads() throws Exception {
+        try (var bus = AsyncEventBus.ofPlatformThreads(2)) {
+            var thread = new CompletableFuture<Thread>();
+            bus.register(TestEvent.class, event -> thread.complete(Thread.currentThread()));
+            assertTrue(bus.postAsync(new TestEvent()).get(5, TimeUnit.SECONDS));
+            assertFalse(thread.get().isVirtual());
+            assertNotSame(Thread.currentThread(), thread.get());
+        }
+    }
+
+    @Test
+    void testInterruption() throws Exception {
+        try (var bus = AsyncEventBus.ofVirtualThreads()) {
+            var laterCalled = new AtomicBoolean();
+            bus.register(TestEvent.class, handler(1, () -> {
+                throw Interruption.INTERRUPTION;
+            }));
+            bus.register(TestEvent.class, handler(2, () -> laterCalled.set(true)));
+            assertFalse(bus.postAsync(new TestEvent()).get(5, TimeUnit.SECONDS));
+            assertFalse(laterCalled.get());
+        }
+    }
+
+    @Test
+    void testProducerNotBlocked() throws Exception {
+        try (var bus = AsyncEventBus.ofVirtualThreads()) {
+            var latch = new CountDownLatch(1);
+            bus.register(TestEvent.class, event -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            var future = bus.postAsync(new TestEvent());
+            assertFalse(future.isDone());
+            latch.countDown();
+            assertTrue(future.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    interface ThrowingRunnable {
+        void run() throws Interruption;
+    }
+
+    private static EventHandler<TestEvent> handler(int priority, ThrowingRunnable action) {
+        return new EventHandler<>() {
+            @Override
+            public void handle(TestEvent event) throws Interruption {
+                action.run();
+            }
+
+            @Override
+            public int priority() {
+                return priority;
+            }
+        };
+    }
+}
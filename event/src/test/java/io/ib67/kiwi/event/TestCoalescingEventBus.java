@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.event.api.Coalescable;
+import io.ib67.kiwi.event.api.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestCoalescingEventBus {
+    record EntityMoved(int entity, int x) implements Coalescable<EntityMoved> {
+        @Override
+        public Object coalescingKey() {
+            return entity;
+        }
+    }
+
+    record Damaged(int entity, int amount) implements Coalescable<Damaged> {
+        @Override
+        public Object coalescingKey() {
+            return entity;
+        }
+
+        @Override
+        public Damaged coalesce(Damaged newer) {
+            return new Damaged(entity, amount + newer.amount);
+        }
+    }
+
+    static class PlainEvent implements Event {
+    }
+
+    @Test
+    void testKeepsLatestPerKey() {
+        var bus = new CoalescingEventBus(new HierarchyEventBus());
+        var received = new ArrayList<EntityMoved>();
+        bus.register(EntityMoved.class, received::add);
+        for (int i = 0; i < 500; i++) {
+            assertTrue(bus.post(new EntityMoved(1, i)));
+            bus.post(new EntityMoved(2, -i));
+        }
+        assertTrue(received.isEmpty());
+        assertEquals(2, bus.pendingCount());
+        assertEquals(2, bus.flush());
+        assertEquals(List.of(new EntityMoved(1, 499), new EntityMoved(2, -499)), received);
+        assertEquals(0, bus.flush());
+    }
+
+    @Test
+    void testMerge() {
+        var bus = new CoalescingEventBus(new HierarchyEventBus());
+        var received = new ArrayList<Damaged>();
+        bus.register(Damaged.class, received::add);
+        bus.post(new Damaged(1, 2));
+        bus.post(new Damaged(1, 3));
+        bus.post(new Damaged(1, 5));
+        bus.flush();
+        assertEquals(List.of(new Damaged(1, 10)), received);
+    }
+
+    @Test
+    void testPlainEventsPassThrough() {
+        var bus = new CoalescingEventBus(new HierarchyEventBus());
+        var received = new int[1];
+        bus.register(PlainEvent.class, event -> received[0]++);
+        bus.post(new PlainEvent());
+        bus.post(new PlainEvent());
+        assertEquals(2, received[0]);
+        assertEquals(0, bus.pendingCount());
+    }
+
+    @Test
+    void testWindow() throws Exception {
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+        try (var bus = new CoalescingEventBus(new HierarchyEventBus(), scheduler, Duration.ofMillis(20))) {
+            var received = new CompletableFuture<EntityMoved>();
+            bus.register(EntityMoved.class, received::complete);
+            bus.post(new EntityMoved(1, 1));
+            assertEquals(new EntityMoved(1, 1), received.get(5, TimeUnit.SECONDS));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void testFailuresDoNotStopFlushing() throws Exception {
+        var reported = new CopyOnWriteArrayList<Throwable>();
+        var scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable);
+            thread.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+            return thread;
+        });
+        try (var bus = new CoalescingEventBus(new HierarchyEventBus(), scheduler, Duration.ofMillis(20))) {
+            var received = new LinkedBlockingQueue<EntityMoved>();
+            bus.register(EntityMoved.class, event -> {
+                if (event.entity() == 1) {
+                    throw new AssertionError(event);
+                }
+                received.add(event);
+            });
+            bus.post(new EntityMoved(1, 1));
+            bus.post(new EntityMoved(2, 1));
+            assertEquals(new EntityMoved(2, 1), received.poll(5, TimeUnit.SECONDS));
+            bus.post(new EntityMoved(3, 1));
+            assertEquals(new EntityMoved(3, 1), received.poll(5, TimeUnit.SECONDS));
+            assertEquals(1, reported.size());
+            assertInstanceOf(AssertionError.class, reported.getFirst());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+}
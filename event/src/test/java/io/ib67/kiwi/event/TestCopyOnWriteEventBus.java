@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.Subscription;
+import io.ib67.kiwi.routine.Interruption;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestCopyOnWriteEventBus {
+    private CopyOnWriteEventBus eventBus;
+
+    static class ParentEvent implements Event {
+    }
+
+    static class ChildEvent extends ParentEvent {
+    }
+
+    @BeforeEach
+    void setUp() {
+        eventBus = new CopyOnWriteEventBus();
+    }
+
+    @Test
+    void testEventHierarchy() {
+        StringBuilder order = new StringBuilder();
+        eventBus.register(ParentEvent.class, event -> order.append("parent"));
+        eventBus.register(ChildEvent.class, event -> order.append("child"));
+
+        assertTrue(eventBus.post(new ChildEvent()));
+        assertEquals("childparent", order.toString());
+        order.setLength(0);
+        assertTrue(eventBus.post(new ParentEvent()));
+        assertEquals("parent", order.toString());
+    }
+
+    @Test
+    void testInterruption() {
+        boolean[] parentCalled = {false};
+        eventBus.register(ParentEvent.class, event -> parentCalled[0] = true);
+        eventBus.register(ChildEvent.class, event -> {
+            throw Interruption.INTERRUPTION;
+        });
+        assertFalse(eventBus.post(new ChildEvent()));
+        assertFalse(parentCalled[0]);
+    }
+
+    @Test
+    void testRegisterDuringPost() {
+        var counter = new AtomicInteger();
+        EventHandler<ParentEvent> late = event -> counter.incrementAndGet();
+        eventBus.register(ParentEvent.class, event -> eventBus.register(TypeToken.resolve(ParentEvent.class), late));
+
+        assertTrue(eventBus.post(new ParentEvent())); // the snapshot being posted is not affected
+        assertEquals(0, counter.get());
+        assertTrue(eventBus.post(new ParentEvent()));
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    void testConcurrentPostAndRegister() throws InterruptedException {
+        var counter = new AtomicInteger();
+        var threads = 4;
+        var posts = 10_000;
+        var latch = new CountDownLatch(threads);
+        eventBus.register(ChildEvent.class, event -> counter.incrementAndGet());
+        eventBus.register(ParentEvent.class, event -> {
+        });
+        eventBus.post(new ChildEvent()); // build the dispatch plan
+        counter.set(0);
+        for (int i = 0; i < threads; i++) {
+            Thread.ofPlatform().start(() -> {
+                var event = new ChildEvent();
+                for (int j = 0; j < posts; j++) {
+                    eventBus.post(event);
+                }
+                latch.countDown();
+            });
+        }
+        for (int i = 0; i < 100; i++) {
+            eventBus.register(ParentEvent.class, event -> {
+            });
+        }
+        latch.await();
+        assertEquals(threads * posts, counter.get());
+    }
+
+    @Test
+    void testCancelDuringPost() {
+        StringBuilder order = new StringBuilder();
+        var subscriptions = new Subscription[1];
+        eventBus.register(ParentEvent.class, event -> subscriptions[0].cancel());
+        subscriptions[0] = eventBus.register(ParentEvent.class, event -> order.append("late"));
+
+        assertTrue(eventBus.post(new ParentEvent())); // the snapshot being posted is not affected
+        assertEquals("late", order.toString());
+        order.setLength(0);
+        assertTrue(eventBus.post(new ParentEvent()));
+        assertEquals("", order.toString());
+    }
+}
@@ -25,12 +25,22 @@
 package io.ib67.kiwi.event;
 
 import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Cancellable;
 import io.ib67.kiwi.event.api.Event;
 import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.api.ExceptionPolicy;
+import io.ib67.kiwi.event.api.Subscription;
+import io.ib67.kiwi.event.api.annotation.SubscribeEvent;
 import io.ib67.kiwi.routine.Interruption;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TestHierarchyEventBus {
@@ -163,4 +173,388 @@ class TestHierarchyEventBus {
         assertTrue(eventBus.post(event));
         assertEquals("parentbase", order.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUnregisteredSubtype() {
+        StringBuilder order = new StringBuilder();
+        eventBus.register(BaseEvent.class, event -> order.append("base"));
+        eventBus.register(ParentEvent.class, event -> order.append("parent"));
+
+        assertTrue(eventBus.post(new ChildEvent())); // no handlers on ChildEvent itself
+        assertEquals("parentbase", order.toString());
+    }
+
+    @Test
+    void testPlanInvalidatedOnRegister() {
+        StringBuilder order = new StringBuilder();
+        eventBus.register(ParentEvent.class, event -> order.append("parent"));
+        assertTrue(eventBus.post(new ChildEvent()));
+        assertEquals("parent", order.toString());
+
+        order.setLength(0);
+        eventBus.register(ChildEvent.class, event -> order.append("child"));
+        assertTrue(eventBus.post(new ChildEvent()));
+        assertEquals("childparent", order.toString());
+    }
+
+    @Test
+    void testExceptionDoesNotRedeliver() {
+        StringBuilder order = new StringBuilder();
+        eventBus.register(ParentEvent.class, parentHandler(1, () -> order.append("1")));
+        eventBus.register(ParentEvent.class, parentHandler(2, () -> {
+            throw new IllegalStateException();
+        }));
+        eventBus.register(ParentEvent.class, parentHandler(3, () -> order.append("3")));
+
+        assertTrue(eventBus.post(new ParentEvent()));
+        assertEquals("13", order.toString());
+    }
+
+    private static EventHandler<ParentEvent> parentHandler(int priority, Runnable action) {
+        return new EventHandler<>() {
+            @Override
+            public void handle(ParentEvent event) {
+                action.run();
+            }
+
+            @Override
+            public int priority() {
+                return priority;
+            }
+        };
+    }
+
+    @Test
+    void testCancelSubscription() {
+        StringBuilder order = new StringBuilder();
+        var subscription = eventBus.register(ParentEvent.class, event -> order.append("a"));
+        eventBus.register(ParentEvent.class, event -> order.append("b"));
+        assertTrue(eventBus.post(new ParentEvent()));
+        assertEquals(2, order.length());
+
+        subscription.cancel();
+        subscription.cancel(); // no-op
+        order.setLength(0);
+        assertTrue(eventBus.post(new ParentEvent()));
+        assertEquals("b", order.toString());
+    }
+
+    @Test
+    void testCancelAmongEqualPriorities() {
+        StringBuilder order = new StringBuilder();
+        var a = eventBus.register(ParentEvent.class, event -> order.append("a"));
+        var b = eventBus.register(ParentEvent.class, event -> order.append("b"));
+        eventBus.register(ParentEvent.class, event -> order.append("c"));
+        b.cancel();
+        assertTrue(eventBus.post(new ParentEvent()));
+        assertEquals("ac", order.toString());
+
+        a.cancel();
+        eventBus.register(ParentEvent.class, event -> order.append("d")); // removes cancelled handlers
+        order.setLength(0);
+        assertTrue(eventBus.post(new ParentEvent()));
+        assertEquals("cd", order.toString());
+    }
+
+    @Test
+    void testCancelWhilePosting() throws InterruptedException {
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var released = new boolean[1];
+        var calls = new int[1];
+        eventBus.register(ChildEvent.class, event -> {
+            entered.countDown();
+            try {
+                released[0] = release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        var subscription = eventBus.register(ParentEvent.class, event -> calls[0]++);
+        var poster = new Thread(() -> eventBus.post(new ChildEvent()));
+        poster.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        subscription.cancel(); // must not wait for the post
+        assertTrue(eventBus.post(new ParentEvent()));
+        assertEquals(0, calls[0]);
+        release.countDown();
+        poster.join();
+        assertTrue(released[0]);
+        assertEquals(1, calls[0]); // the ongoing post keeps its plan
+    }
+
+    @Test
+    void testUnregisterAllByOwner() {
+        StringBuilder order = new StringBuilder();
+        var owner = new Object();
+        eventBus.register(TypeToken.resolve(ParentEvent.class), event -> order.append("parent"), owner);
+        eventBus.register(TypeToken.resolve(ChildEvent.class), event -> order.append("child"), owner);
+        var ownerless = eventBus.register(ChildEvent.class, event -> order.append("ownerless"));
+
+        eventBus.unregisterAll(owner);
+        assertTrue(eventBus.post(new ChildEvent()));
+        assertEquals("ownerless", order.toString());
+
+        ownerless.cancel();
+        eventBus.unregisterAll(owner); // no-op
+        order.setLength(0);
+        assertTrue(eventBus.post(new ChildEvent()));
+        assertEquals("", order.toString());
+    }
+
+    @Test
+    void testCompiledDispatchers() {
+        var bus = new HierarchyEventBus(e -> true, true);
+        StringBuilder order = new StringBuilder();
+        bus.register(BaseEvent.class, event -> order.append("base"));
+        bus.register(ParentEvent.class, event -> order.append("parent"));
+        bus.register(ChildEvent.class, event -> {
+            throw Interruption.INTERRUPTION;
+        });
+
+        assertTrue(bus.post(new ParentEvent()));
+        assertEquals("parentbase", order.toString());
+        order.setLength(0);
+        assertFalse(bus.post(new ChildEvent()));
+        assertEquals("", order.toString());
+    }
+
+    static class CancellableEvent implements Cancellable {
+        private boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+    }
+
+    @Test
+    void testCancellableEvent() {
+        for (boolean compiled : new boolean[]{false, true}) {
+            var bus = new HierarchyEventBus(e -> true, compiled);
+            StringBuilder order = new StringBuilder();
+            bus.register(CancellableEvent.class, event -> order.append("first"));
+            bus.register(CancellableEvent.class, event -> event.setCancelled(true));
+            bus.register(CancellableEvent.class, event -> order.append("third"));
+            bus.register(Event.class, event -> order.append("base"));
+
+            assertFalse(bus.post(new CancellableEvent()));
+            assertEquals("first", order.toString());
+
+            order.setLength(0);
+            var cancelled = new CancellableEvent();
+            cancelled.setCancelled(true);
+            assertFalse(bus.post(cancelled));
+            assertEquals("", order.toString());
+        }
+    }
+
+    @Test
+    void testCancelThenThrow() {
+        var results = new String[2];
+        for (boolean compiled : new boolean[]{false, true}) {
+            var bus = new HierarchyEventBus(ExceptionPolicy.CONTINUE, compiled);
+            StringBuilder order = new StringBuilder();
+            bus.register(CancellableEvent.class, event -> {
+                event.setCancelled(true);
+                throw new IllegalStateException();
+            });
+            bus.register(CancellableEvent.class, event -> order.append("second"));
+            order.append(bus.post(new CancellableEvent()));
+            results[compiled ? 1 : 0] = order.toString();
+        }
+        assertEquals("false", results[0]);
+        assertEquals(results[0], results[1]);
+    }
+
+    record PlayerEvent(int player) implements Event {
+    }
+
+    @Test
+    void testKeyedHandlers() {
+        for (boolean compiled : new boolean[]{false, true}) {
+            var bus = new HierarchyEventBus(e -> true, compiled);
+            TypeToken<PlayerEvent> type = TypeToken.resolve(PlayerEvent.class);
+            Function<PlayerEvent, Integer> player = PlayerEvent::player;
+            StringBuilder order = new StringBuilder();
+            var owner = new Object();
+            bus.register(type, player, 1, withPriority(1, event -> order.append("1a")));
+            bus.register(type, player, 2, withPriority(1, event -> order.append("2a")));
+            bus.register(type, withPriority(0, event -> order.append("early")));
+            bus.register(type, withPriority(2, event -> order.append("late")));
+            var keyed = bus.register(type, player, 1, withPriority(3, event -> order.append("1b")), owner);
+            bus.register(type, player, 1, withPriority(1, event -> order.append("1c")), owner);
+
+            assertTrue(bus.post(new PlayerEvent(1)));
+            assertEquals("early1a1clate1b", order.toString());
+            order.setLength(0);
+            assertTrue(bus.post(new PlayerEvent(2)));
+            assertEquals("early2alate", order.toString());
+            order.setLength(0);
+            assertTrue(bus.post(new PlayerEvent(3)));
+            assertEquals("earlylate", order.toString());
+
+            keyed.cancel();
+            bus.unregisterAll(owner);
+            order.setLength(0);
+            assertTrue(bus.post(new PlayerEvent(1)));
+            assertEquals("early1alate", order.toString());
+        }
+    }
+
+    private static <E extends Event> EventHandler<E> withPriority(int priority, EventHandler<E> handler) {
+        return new EventHandler<>() {
+            @Override
+            public void handle(E event) throws Interruption {
+                handler.handle(event);
+            }
+
+            @Override
+            public int priority() {
+                return priority;
+            }
+        };
+    }
+
+    @Test
+    void testWeakRegistration() {
+        var bus = new HierarchyEventBus();
+        var host = new WeakListener();
+        var subscription = host.registerWeaklyTo(bus);
+        bus.post(new ParentEvent());
+        assertEquals(1, host.received);
+        subscription.cancel();
+        bus.post(new ParentEvent());
+        assertEquals(1, host.received);
+        assertTrue(bus.weakHosts.isEmpty());
+
+        host.registerWeaklyTo(bus);
+        host.unregisterFrom(bus);
+        bus.post(new ParentEvent());
+        assertEquals(1, host.received);
+        assertTrue(bus.owners.isEmpty());
+
+        host.registerWeaklyTo(bus);
+        var reference = bus.weakHosts.iterator().next();
+        reference.clear();
+        reference.enqueue();
+        bus.post(new ParentEvent());
+        assertEquals(1, host.received);
+        assertFalse(bus.owners.isEmpty()); // purged on the next modification
+        bus.unregisterAll(new Object());
+        assertTrue(bus.owners.isEmpty());
+        assertTrue(bus.weakHosts.isEmpty());
+    }
+
+    @Test
+    void testWeakRegistrationDoesNotRetainHost() throws InterruptedException {
+        var bus = new HierarchyEventBus();
+        var probe = registerWeakListener(bus);
+        for (int i = 0; i < 10 && probe.get() != null; i++) {
+            System.gc();
+        }
+        assertNull(probe.get());
+        bus.post(new ParentEvent());
+        for (int i = 0; i < 100 && !bus.weakHosts.isEmpty(); i++) {
+            Thread.sleep(10); // cleared references are enqueued by another thread.
+            bus.register(ParentEvent.class, event -> {
+            });
+        }
+        assertTrue(bus.weakHosts.isEmpty());
+        assertTrue(bus.owners.isEmpty());
+    }
+
+    private static WeakReference<WeakListener> registerWeakListener(HierarchyEventBus bus) {
+        var host = new WeakListener();
+        host.registerWeaklyTo(bus);
+        bus.post(new ParentEvent());
+        assertEquals(1, host.received);
+        return new WeakReference<>(host);
+    }
+
+    static class WeakListener implements EventListenerHost {
+        int received;
+
+        @SubscribeEvent
+        public void onParent(ParentEvent event) {
+            received++;
+        }
+    }
+
+    interface AuditedEvent extends Event {
+    }
+
+    interface PlayerAware extends BaseEvent {
+    }
+
+    static class MultiInterfaceEvent extends ParentEvent implements AuditedEvent, PlayerAware {
+        @Override
+        public TypeToken<? extends Event> type() {
+            return Event.RAW_TOKENS.get(MultiInterfaceEvent.class);
+        }
+    }
+
+    @Test
+    void testLinearization() {
+        assertArrayEquals(
+                new Class<?>[]{MultiInterfaceEvent.class, ParentEvent.class, AuditedEvent.class, PlayerAware.class, BaseEvent.class, Event.class},
+                HierarchyEventBus.linearize(MultiInterfaceEvent.class)
+        );
+        assertArrayEquals(new Class<?>[]{ChildEvent.class, ParentEvent.class, BaseEvent.class, Event.class}, HierarchyEventBus.linearize(ChildEvent.class));
+        assertSame(HierarchyEventBus.linearize(ChildEvent.class), HierarchyEventBus.linearize(ChildEvent.class));
+    }
+
+    @Test
+    void testMultiInterfaceDispatch() {
+        for (var bus : new HierarchyEventBus[]{new HierarchyEventBus(), new HierarchyEventBus(e -> true, true), new CopyOnWriteEventBus()}) {
+            StringBuilder order = new StringBuilder();
+            bus.register(Event.class, event -> order.append("event "));
+            bus.register(BaseEvent.class, event -> order.append("base "));
+            bus.register(PlayerAware.class, event -> order.append("player "));
+            bus.register(AuditedEvent.class, event -> order.append("audited "));
+            bus.register(ParentEvent.class, event -> order.append("parent "));
+            bus.register(MultiInterfaceEvent.class, event -> order.append("multi "));
+            assertTrue(bus.post(new MultiInterfaceEvent()));
+            assertEquals("multi parent audited player base event ", order.toString());
+            order.setLength(0);
+            assertTrue(bus.post(new ChildEvent()));
+            assertEquals("parent base event ", order.toString());
+        }
+    }
+
+    @Test
+    void testCancelDuringPost() {
+        int[] calls = {0, 0};
+        var owner = new Object();
+        var subscription = new Subscription[1];
+        subscription[0] = eventBus.register(ParentEvent.class, event -> {
+            calls[0]++;
+            subscription[0].cancel();
+        });
+        eventBus.register(TypeToken.resolve(ParentEvent.class), event -> {
+            calls[1]++;
+            eventBus.unregisterAll(owner);
+        }, owner);
+        assertTrue(eventBus.post(new ParentEvent()));
+        assertTrue(eventBus.post(new ParentEvent()));
+        assertArrayEquals(new int[]{1, 1}, calls);
+
+        var rejected = new boolean[1];
+        eventBus.register(ChildEvent.class, event -> {
+            try {
+                eventBus.register(ChildEvent.class, it -> {
+                });
+            } catch (IllegalStateException e) {
+                rejected[0] = true;
+            }
+        });
+        assertTrue(eventBus.post(new ChildEvent()));
+        assertTrue(rejected[0]);
+    }
+}
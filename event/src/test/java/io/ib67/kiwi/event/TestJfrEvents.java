@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventBus;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.ExceptionPolicy;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.api.annotation.SubscribeEvent;
+import io.ib67.kiwi.event.metrics.EventBusMetrics;
+import io.ib67.kiwi.event.util.AsmListenerResolver;
+import io.ib67.kiwi.routine.Interruption;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestJfrEvents {
+    static class TestEvent implements Event {
+        static final TypeToken<TestEvent> TYPE = TypeToken.resolve(TestEvent.class);
+    }
+
+    public static class Listener implements EventListenerHost {
+        @SubscribeEvent
+        public void onTest(TestEvent event) throws Interruption {
+            throw Interruption.INTERRUPTION;
+        }
+    }
+
+    @Test
+    void testEventsRecorded() throws Exception {
+        var events = record(new HierarchyEventBus());
+        var posted = single(events, "EventPosted");
+        assertEquals(1, posted.getInt("handlers"));
+        assertTrue(posted.getBoolean("cancelled"));
+        var rebuilt = single(events, "DispatchPlanRebuilt");
+        assertEquals(1, rebuilt.getInt("handlers"));
+        assertFalse(rebuilt.getBoolean("compiled"));
+        assertHandlerInvoked(single(events, "HandlerInvoked"));
+    }
+
+    @Test
+    void testHandlerInvokedByCompiledDispatcher() throws Exception {
+        var events = record(new HierarchyEventBus(ExceptionPolicy.CONTINUE, true));
+        assertTrue(single(events, "DispatchPlanRebuilt").getBoolean("compiled"));
+        assertHandlerInvoked(single(events, "HandlerInvoked"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWrappedHandlersUnwrapped() throws Exception {
+        for (boolean compiled : new boolean[]{false, true}) {
+            var metered = new MeteredEventBus(new HierarchyEventBus(ExceptionPolicy.CONTINUE, compiled), new EventBusMetrics());
+            assertHandlerInvoked(single(record(metered), "HandlerInvoked"));
+
+            var keyed = new HierarchyEventBus(ExceptionPolicy.CONTINUE, compiled);
+            var resolved = new AsmListenerResolver(MethodHandles.lookup(), new Listener()).resolveHandlers().getFirst();
+            var events = record(keyed, it -> it.register(TestEvent.TYPE, event -> 1, 1, (EventHandler<TestEvent>) resolved.handler(), null));
+            assertHandlerInvoked(single(events, "HandlerInvoked"));
+        }
+    }
+
+    private static List<RecordedEvent> record(EventBus bus) throws Exception {
+        return record(bus, it -> new Listener().registerTo(it)); // resolved by AsmListenerResolver
+    }
+
+    private static List<RecordedEvent> record(EventBus bus, Consumer<EventBus> registration) throws Exception {
+        try (var recording = new Recording()) {
+            for (String name : List.of("EventPosted", "HandlerInvoked", "DispatchPlanRebuilt")) {
+                recording.enable("io.ib67.kiwi.event." + name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            registration.accept(bus);
+            assertFalse(bus.post(new TestEvent()));
+            recording.stop();
+            var file = Files.createTempFile("kiwi-event", ".jfr");
+            try {
+                recording.dump(file);
+                return RecordingFile.readAllEvents(file);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static void assertHandlerInvoked(RecordedEvent invoked) {
+        var handlerClass = invoked.<RecordedClass>getValue("handlerClass").getName();
+        assertTrue(handlerClass.startsWith(Listener.class.getName() + "$Handlers$"), handlerClass);
+        assertEquals(Listener.class.getName(), invoked.<RecordedClass>getValue("hostClass").getName());
+        assertEquals("onTest", invoked.getString("method"));
+        assertEquals(TestEvent.TYPE.toString(), invoked.getString("eventType"));
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        var matched = events.stream().filter(it -> it.getEventType().getName().equals("io.ib67.kiwi.event." + name)).toList();
+        assertEquals(1, matched.size(), name);
+        return matched.getFirst();
+    }
+}
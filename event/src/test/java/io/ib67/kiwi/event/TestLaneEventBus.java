@@ -0,0 +1,261 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.api.annotation.SubscribeEvent;
+import io.ib67.kiwi.event.util.AsmListenerResolver;
+import io.ib67.kiwi.event.util.EventTuple;
+import io.ib67.kiwi.event.util.LambdaListenerResolver;
+import io.ib67.kiwi.event.util.ReflectionListenerResolver;
+import io.ib67.kiwi.routine.Interruption;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestLaneEventBus {
+    record TestEvent(int id) implements Event {
+    }
+
+    public static class LaneListener implements EventListenerHost {
+        final StringBuilder order = new StringBuilder();
+
+        @SubscribeEvent(lane = "main")
+        public void onMain(TestEvent event) {
+            order.append("main:").append(event.id()).append(' ');
+        }
+
+        @SubscribeEvent
+        public void onPosting(TestEvent event) {
+            order.append("posting:").append(event.id()).append(' ');
+        }
+    }
+
+    private static EventHandler<TestEvent> handler(String lane, int priority, EventHandler<TestEvent> handler) {
+        return new EventHandler<>() {
+            @Override
+            public void handle(TestEvent event) throws Interruption {
+                handler.handle(event);
+            }
+
+            @Override
+            public int priority() {
+                return priority;
+            }
+
+            @Override
+            public String lane() {
+                return lane;
+            }
+        };
+    }
+
+    @Test
+    void testManualLane() {
+        var bus = new LaneEventBus(new HierarchyEventBus(), Map.of("main", LaneEventBus.MANUAL));
+        var order = new StringBuilder();
+        bus.register(TestEvent.class, handler("main", 2, event -> order.append("main2:").append(event.id()).append(' ')));
+        bus.register(TestEvent.class, handler("main", 1, event -> order.append("main1:").append(event.id()).append(' ')));
+        bus.register(TestEvent.class, handler(null, 3, event -> order.append("posting:").append(event.id()).append(' ')));
+        assertTrue(bus.post(new TestEvent(1)));
+        assertTrue(bus.post(new TestEvent(2)));
+        assertEquals("posting:1 posting:2 ", order.toString());
+        assertEquals(2, bus.pending("main"));
+
+        order.setLength(0);
+        assertEquals(2, bus.drain("main"));
+        assertEquals("main1:1 main2:1 main1:2 main2:2 ", order.toString());
+        assertEquals(0, bus.pending("main"));
+        assertEquals(0, bus.drain("main"));
+    }
+
+    @Test
+    void testInterruptionOnLane() {
+        var bus = new LaneEventBus(new HierarchyEventBus(), Map.of("main", LaneEventBus.MANUAL));
+        var order = new StringBuilder();
+        bus.register(TestEvent.class, handler("main", 1, event -> {
+            if (event.id() == 1) throw Interruption.INTERRUPTION;
+        }));
+        bus.register(TestEvent.class, handler("main", 2, event -> order.append(event.id())));
+        bus.register(TestEvent.class, handler(null, 3, event -> order.append("p")));
+        assertTrue(bus.post(new TestEvent(1)));
+        assertTrue(bus.post(new TestEvent(2)));
+        bus.drain("main");
+        assertEquals("pp2", order.toString());
+    }
+
+    @Test
+    void testLanes() {
+        var bus = new LaneEventBus(new HierarchyEventBus(), Map.of("main", LaneEventBus.MANUAL));
+        assertThrows(IllegalArgumentException.class, () -> bus.register(TestEvent.class, handler("io", 0, event -> {
+        })));
+        assertThrows(IllegalArgumentException.class, () -> bus.drain("io"));
+        var pooled = new LaneEventBus(new HierarchyEventBus(), Map.of("io", Runnable::run));
+        assertThrows(IllegalStateException.class, () -> pooled.drain("io"));
+    }
+
+    @Test
+    void testExecutorLane() throws Exception {
+        var executor = Executors.newSingleThreadExecutor();
+        var submissions = new AtomicInteger();
+        var bus = new LaneEventBus(new HierarchyEventBus(), Map.of("io", command -> {
+            submissions.incrementAndGet();
+            executor.execute(command);
+        }));
+        var blocked = new CountDownLatch(1);
+        var done = new CountDownLatch(100);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        var threads = new CopyOnWriteArrayList<Thread>();
+        bus.register(TestEvent.class, handler("io", 0, event -> {
+            if (event.id() == 0) {
+                try {
+                    blocked.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            received.add(event.id());
+            threads.add(Thread.currentThread());
+            done.countDown();
+        }));
+        for (int i = 0; i < 100; i++) {
+            bus.post(new TestEvent(i));
+        }
+        blocked.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, received.get(i));
+        }
+        assertFalse(threads.contains(Thread.currentThread()));
+        assertTrue(submissions.get() < 100, "submitted " + submissions.get() + " times");
+        assertEquals(0, bus.pending("io"));
+    }
+
+    @Test
+    void testErrorsDoNotStopLane() throws Exception {
+        var executor = Executors.newSingleThreadExecutor();
+        var bus = new LaneEventBus(new HierarchyEventBus(), Map.of("io", command -> executor.execute(() -> {
+            try {
+                command.run();
+            } catch (AssertionError ignored) {
+            }
+        })));
+        var received = new CountDownLatch(1);
+        bus.register(TestEvent.class, handler("io", 0, event -> {
+            if (event.id() == 1) {
+                throw new AssertionError("thrown on the lane");
+            }
+            received.countDown();
+        }));
+        try {
+            bus.post(new TestEvent(1));
+            bus.post(new TestEvent(2));
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, bus.pending("io"));
+    }
+
+    @Test
+    void testCancelledEventsAreNotQueued() {
+        var bus = new LaneEventBus(new HierarchyEventBus(), Map.of("main", LaneEventBus.MANUAL));
+        bus.register(TestEvent.class, handler("main", 0, event -> fail("cancelled events must not reach lanes")));
+        bus.register(TestEvent.class, handler(null, 0, event -> {
+            throw Interruption.INTERRUPTION;
+        }));
+        assertFalse(bus.post(new TestEvent(1)));
+        assertEquals(0, bus.pending("main"));
+        bus.post(new Event() {
+        });
+        assertEquals(0, bus.pending("main"));
+    }
+
+    @Test
+    void testAnnotatedLanes() {
+        var bus = new LaneEventBus(new HierarchyEventBus(), Map.of("main", LaneEventBus.MANUAL));
+        var host = new LaneListener();
+        var subscription = host.registerTo(bus);
+        bus.post(new TestEvent(1));
+        assertEquals("posting:1 ", host.order.toString());
+        bus.drain("main");
+        assertEquals("posting:1 main:1 ", host.order.toString());
+        subscription.cancel();
+
+        host.order.setLength(0);
+        var weak = host.registerWeaklyTo(bus);
+        bus.post(new TestEvent(2));
+        assertEquals(1, bus.drain("main"));
+        assertEquals("posting:2 main:2 ", host.order.toString());
+        weak.cancel();
+        bus.post(new TestEvent(3));
+        assertEquals(0, bus.pending("main"));
+        assertEquals("posting:2 main:2 ", host.order.toString());
+
+        var unknown = new LaneEventBus(new HierarchyEventBus(), Map.of("io", LaneEventBus.MANUAL));
+        assertThrows(IllegalArgumentException.class, () -> host.registerWeaklyTo(unknown));
+        unknown.post(new TestEvent(4));
+        assertEquals("posting:2 main:2 ", host.order.toString());
+    }
+
+    @Test
+    void testResolversReportLanes() throws Exception {
+        var host = new LaneListener();
+        var lookup = MethodHandles.lookup();
+        var resolved = List.of(
+                new ReflectionListenerResolver(lookup, host).resolveHandlers(),
+                new AsmListenerResolver(lookup, host).resolveHandlers(),
+                new LambdaListenerResolver(lookup, host).resolveHandlers()
+        );
+        for (List<EventTuple<?>> handlers : resolved) {
+            var lanes = new ArrayList<String>();
+            for (EventTuple<?> tuple : handlers) {
+                lanes.add(tuple.handler().lane());
+            }
+            lanes.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+            assertEquals(Arrays.asList(null, "main"), lanes);
+        }
+        for (EventTuple<?> tuple : resolved.get(1)) {
+            assertTrue(tuple.handler().getClass().getName().contains("$Handlers$"), "handlers are not wrapped");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.ExceptionPolicy;
+import io.ib67.kiwi.event.metrics.EventBusMetrics;
+import io.ib67.kiwi.event.metrics.LatencyHistogram;
+import io.ib67.kiwi.routine.Interruption;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestMeteredEventBus {
+    static class TestEvent implements Event {
+    }
+
+    @Test
+    void testCounters() {
+        var metrics = new EventBusMetrics();
+        var bus = new MeteredEventBus(new HierarchyEventBus(ExceptionPolicy.CONTINUE), metrics);
+        var counter = new int[1];
+        bus.register(TestEvent.class, event -> {
+            if (++counter[0] == 2) {
+                throw Interruption.INTERRUPTION;
+            }
+            if (counter[0] == 3) {
+                throw new IllegalStateException();
+            }
+        });
+        assertTrue(bus.post(new TestEvent()));
+        assertFalse(bus.post(new TestEvent()));
+        assertTrue(bus.post(new TestEvent()));
+
+        var snapshots = metrics.snapshot();
+        assertEquals(1, snapshots.size());
+        var snapshot = snapshots.getFirst();
+        assertEquals(3, snapshot.invocations());
+        assertEquals(1, snapshot.interruptions());
+        assertEquals(1, snapshot.failures());
+        assertEquals(3, snapshot.latency().count());
+    }
+
+    @Test
+    void testUntrackOnCancel() {
+        var metrics = new EventBusMetrics();
+        var bus = new MeteredEventBus(new HierarchyEventBus(), metrics);
+        var owner = new Object();
+        var subscription = bus.register(TestEvent.class, event -> {});
+        bus.register(TypeToken.resolve(TestEvent.class), event -> {}, owner);
+        assertEquals(2, metrics.snapshot().size());
+        subscription.cancel();
+        assertEquals(1, metrics.snapshot().size());
+        bus.unregisterAll(owner);
+        assertTrue(metrics.snapshot().isEmpty());
+    }
+
+    @Test
+    void testMBeans() throws Exception {
+        var server = MBeanServerFactory.newMBeanServer();
+        var metrics = new EventBusMetrics();
+        var bus = new MeteredEventBus(new HierarchyEventBus(), metrics);
+        bus.register(TestEvent.class, event -> {});
+        metrics.registerMBeans(server, "test");
+        var subscription = bus.register(TestEvent.class, event -> {});
+        bus.post(new TestEvent());
+
+        var names = server.queryNames(new ObjectName("io.ib67.kiwi.event:type=EventHandler,*"), null);
+        assertEquals(2, names.size());
+        for (ObjectName name : names) {
+            assertEquals(1L, server.getAttribute(name, "Invocations"));
+        }
+        subscription.cancel();
+        assertEquals(1, server.queryNames(new ObjectName("io.ib67.kiwi.event:type=EventHandler,*"), null).size());
+        metrics.unregisterMBeans();
+        assertTrue(server.queryNames(new ObjectName("io.ib67.kiwi.event:type=EventHandler,*"), null).isEmpty());
+    }
+
+    @Test
+    void testHistogram() {
+        var histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        var snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.count());
+        assertEquals(1_000_000L, snapshot.maxNanos());
+        assertEquals(500_500.0, snapshot.meanNanos());
+        assertEquals(500_000, snapshot.valueAtPercentile(50), 500_000 / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(990_000, snapshot.valueAtPercentile(99), 990_000 / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(1_000_000L, snapshot.valueAtPercentile(100), 1_000_000 / LatencyHistogram.SUB_BUCKETS);
+        histogram.record(Long.MAX_VALUE);
+        assertTrue(histogram.snapshot().valueAtPercentile(100) <= LatencyHistogram.MAX_VALUE);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.event.RingBufferEventBus.OverflowPolicy;
+import io.ib67.kiwi.event.RingBufferEventBus.WaitStrategy;
+import io.ib67.kiwi.event.api.Event;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestRingBufferEventBus {
+    record TestEvent(int id) implements Event {
+    }
+
+    private static RingBufferEventBus newBus(int capacity, WaitStrategy waitStrategy, OverflowPolicy overflowPolicy) {
+        return new RingBufferEventBus(new CopyOnWriteEventBus(), capacity, waitStrategy, overflowPolicy, Executors.defaultThreadFactory()).start();
+    }
+
+    @Test
+    void testDeliverInOrder() throws InterruptedException {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            var received = new ArrayList<Integer>();
+            var bus = newBus(8, strategy, OverflowPolicy.BLOCK);
+            bus.register(TestEvent.class, event -> received.add(event.id()));
+            for (int i = 0; i < 100; i++) {
+                assertTrue(bus.post(new TestEvent(i)));
+            }
+            bus.close();
+            assertEquals(100, received.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, received.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testMultipleProducers() throws InterruptedException {
+        var received = Collections.synchronizedList(new ArrayList<Integer>());
+        var bus = newBus(16, WaitStrategy.YIELD, OverflowPolicy.BLOCK);
+        bus.register(TestEvent.class, event -> received.add(event.id()));
+        var producers = new ArrayList<Thread>();
+        for (int i = 0; i < 4; i++) {
+            var base = i * 1000;
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    bus.post(new TestEvent(base + j));
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        bus.close();
+        assertEquals(4000, received.size());
+        assertEquals(4000, received.stream().distinct().count());
+    }
+
+    @Test
+    void testOverflowPolicies() throws InterruptedException {
+        for (OverflowPolicy policy : List.of(OverflowPolicy.DROP_NEWEST, OverflowPolicy.FAIL_FAST)) {
+            var latch = new CountDownLatch(1);
+            var bus = newBus(2, WaitStrategy.PARK, policy);
+            bus.register(TestEvent.class, event -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            assertTrue(bus.post(new TestEvent(0)));
+            assertTrue(bus.post(new TestEvent(1)));
+            if (policy == OverflowPolicy.DROP_NEWEST) {
+                assertFalse(bus.post(new TestEvent(2)));
+            } else {
+                assertThrows(IllegalStateException.class, () -> bus.post(new TestEvent(2)));
+            }
+            latch.countDown();
+            bus.close();
+        }
+    }
+
+    @Test
+    void testErrorsDoNotStopConsumer() throws InterruptedException {
+        var reported = new ArrayList<Throwable>();
+        var received = new ArrayList<Integer>();
+        var bus = new RingBufferEventBus(new CopyOnWriteEventBus(), 2, WaitStrategy.PARK, OverflowPolicy.BLOCK, runnable -> {
+            var thread = new Thread(runnable);
+            thread.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+            return thread;
+        });
+        bus.register(TestEvent.class, event -> {
+            if (event.id() % 2 == 0) {
+                throw new AssertionError(event.id());
+            }
+            received.add(event.id());
+        });
+        assertThrows(IllegalStateException.class, () -> bus.post(new TestEvent(0)));
+        bus.start();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bus.post(new TestEvent(i)));
+        }
+        bus.close();
+        assertEquals(List.of(1, 3, 5, 7, 9), received);
+        assertEquals(5, reported.size());
+        assertInstanceOf(AssertionError.class, reported.getFirst());
+    }
+
+    @Test
+    void testPostAfterClose() throws InterruptedException {
+        var bus = newBus(2, WaitStrategy.PARK, OverflowPolicy.BLOCK);
+        bus.close();
+        assertThrows(IllegalStateException.class, () -> bus.post(new TestEvent(0)));
+    }
+
+    @Test
+    void testIllegalCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferEventBus(3));
+    }
+}
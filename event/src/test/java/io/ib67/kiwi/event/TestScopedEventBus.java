@@ -0,0 +1,252 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Cancellable;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.ExceptionPolicy;
+import io.ib67.kiwi.event.metrics.EventBusMetrics;
+import io.ib67.kiwi.routine.Interruption;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestScopedEventBus {
+    private static final int SCOPES = 50_000;
+    private static final long MAX_BYTES_PER_EMPTY_SCOPE = 32;
+    private static final long MAX_BYTES_PER_SCOPE = 160; // a HierarchyEventBus takes about 1KB
+
+    static class TestEvent implements Event {
+        static final TypeToken<TestEvent> TYPE = TypeToken.resolve(TestEvent.class);
+    }
+
+    static class OtherEvent implements Event {
+    }
+
+    record KeyedEvent(int key) implements Event {
+    }
+
+    static class CancellableEvent implements Cancellable {
+        private boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+    }
+
+    @Test
+    void testInheritedHandlers() {
+        var parent = new HierarchyEventBus();
+        var scope = new ScopedEventBus(parent);
+        var order = new StringBuilder();
+        parent.register(TestEvent.class, event -> order.append("parent "));
+        assertTrue(scope.post(new TestEvent()));
+        assertFalse(scope.hasLocalHandlers());
+        assertEquals("parent ", order.toString());
+
+        order.setLength(0);
+        scope.register(TestEvent.class, event -> order.append("local "));
+        assertTrue(scope.post(new TestEvent()));
+        assertEquals("local parent ", order.toString());
+
+        order.setLength(0);
+        assertTrue(parent.post(new TestEvent()));
+        assertEquals("parent ", order.toString());
+
+        order.setLength(0);
+        var nested = new ScopedEventBus(scope);
+        nested.register(TestEvent.class, event -> order.append("nested "));
+        assertTrue(nested.post(new TestEvent()));
+        assertEquals("nested local parent ", order.toString());
+    }
+
+    @Test
+    void testCancellation() {
+        var parent = new HierarchyEventBus();
+        var scope = new ScopedEventBus(parent);
+        boolean[] parentCalled = {false};
+        parent.register(TestEvent.class, event -> parentCalled[0] = true);
+        parent.register(CancellableEvent.class, event -> parentCalled[0] = true);
+        scope.register(TestEvent.class, event -> {
+            throw Interruption.INTERRUPTION;
+        });
+        scope.register(CancellableEvent.class, event -> event.setCancelled(true));
+        assertFalse(scope.post(new TestEvent()));
+        assertFalse(scope.post(new CancellableEvent()));
+        assertFalse(parentCalled[0]);
+    }
+
+    @Test
+    void testLocalRegistrations() {
+        var parent = new HierarchyEventBus();
+        var scope = new ScopedEventBus(parent);
+        var owner = new Object();
+        int[] calls = {0, 0};
+        parent.register(TypeToken.resolve(TestEvent.class), event -> calls[0]++, owner);
+        scope.register(TypeToken.resolve(TestEvent.class), event -> calls[1]++, owner);
+        scope.unregisterAll(owner);
+        scope.post(new TestEvent());
+        assertArrayEquals(new int[]{1, 0}, calls);
+
+        scope.register(TestEvent.class, event -> calls[1]++);
+        scope.close();
+        assertFalse(scope.hasLocalHandlers());
+        scope.post(new TestEvent());
+        assertArrayEquals(new int[]{2, 0}, calls);
+    }
+
+    @Test
+    void testHandlersMergedByPriority() {
+        var parent = new HierarchyEventBus();
+        var scope = new ScopedEventBus(parent);
+        var order = new StringBuilder();
+        parent.register(TestEvent.TYPE, prioritized(-100, () -> order.append("parent ")), null);
+        parent.register(TestEvent.TYPE, prioritized(0, () -> order.append("default ")), null);
+        scope.register(TestEvent.TYPE, prioritized(10, () -> order.append("late ")), null);
+        scope.register(Event.class, event -> order.append("any "));
+        scope.register(OtherEvent.class, event -> order.append("other "));
+        scope.register(TestEvent.TYPE, prioritized(-10, () -> order.append("early ")), null);
+        assertTrue(scope.post(new TestEvent()));
+        assertEquals("parent early any default late ", order.toString());
+
+        order.setLength(0);
+        var nested = new ScopedEventBus(new ScopedEventBus(scope));
+        nested.register(TestEvent.TYPE, prioritized(-50, () -> order.append("nested ")), null);
+        assertTrue(nested.post(new TestEvent()));
+        assertEquals("parent nested early any default late ", order.toString());
+    }
+
+    @Test
+    void testMergedPlansFollowModifications() {
+        for (HierarchyEventBus parent : List.of(new HierarchyEventBus(), new CopyOnWriteEventBus(), new HierarchyEventBus(ExceptionPolicy.CONTINUE, true))) {
+            var scope = new ScopedEventBus(parent);
+            var order = new StringBuilder();
+            scope.register(TestEvent.TYPE, prioritized(0, () -> order.append("local ")), null);
+            assertTrue(scope.post(new TestEvent()));
+            assertEquals("local ", order.toString());
+
+            order.setLength(0);
+            var subscription = parent.register(TestEvent.TYPE, prioritized(-1, () -> order.append("parent ")), null);
+            assertTrue(scope.post(new TestEvent()));
+            assertEquals("parent local ", order.toString());
+
+            order.setLength(0);
+            subscription.cancel();
+            var local = scope.register(TestEvent.TYPE, prioritized(-1, () -> order.append("early ")), null);
+            assertTrue(scope.post(new TestEvent()));
+            assertEquals("early local ", order.toString());
+
+            order.setLength(0);
+            local.cancel();
+            assertTrue(scope.post(new TestEvent()));
+            assertEquals("local ", order.toString());
+        }
+    }
+
+    @Test
+    void testOpaqueParent() {
+        var parent = new MeteredEventBus(new HierarchyEventBus(), new EventBusMetrics());
+        var scope = new ScopedEventBus(parent);
+        var order = new StringBuilder();
+        parent.register(TestEvent.TYPE, prioritized(-100, () -> order.append("parent ")), null);
+        scope.register(TestEvent.TYPE, prioritized(10, () -> order.append("local ")), null);
+        assertTrue(scope.post(new TestEvent()));
+        assertEquals("local parent ", order.toString());
+    }
+
+    @Test
+    void testKeyedRegistrations() {
+        var scope = new ScopedEventBus(new HierarchyEventBus());
+        var received = new ArrayList<KeyedEvent>();
+        var subscription = scope.register(TypeToken.resolve(KeyedEvent.class), KeyedEvent::key, 1, received::add);
+        scope.post(new KeyedEvent(1));
+        scope.post(new KeyedEvent(2));
+        assertEquals(List.of(new KeyedEvent(1)), received);
+        subscription.cancel();
+        assertFalse(scope.hasLocalHandlers());
+    }
+
+    @Test
+    void testScopesAreSmall() {
+        var parent = new HierarchyEventBus();
+        int[] received = {0};
+        EventHandler<TestEvent> handler = event -> received[0]++;
+        parent.register(TestEvent.TYPE, handler);
+        var scopes = new ArrayList<ScopedEventBus>(SCOPES);
+        for (int i = 0; i < SCOPES; i++) { // warm up
+            new ScopedEventBus(parent).register(TestEvent.TYPE, handler, null);
+        }
+
+        long before = allocatedBytes();
+        for (int i = 0; i < SCOPES; i++) {
+            scopes.add(new ScopedEventBus(parent));
+        }
+        long empty = allocatedBytes() - before;
+        assertTrue(empty / SCOPES < MAX_BYTES_PER_EMPTY_SCOPE, SCOPES + " scopes took " + empty + " bytes");
+
+        before = allocatedBytes();
+        for (ScopedEventBus scope : scopes) {
+            scope.register(TestEvent.TYPE, handler, null);
+        }
+        long registered = empty + allocatedBytes() - before;
+        assertTrue(registered / SCOPES < MAX_BYTES_PER_SCOPE, SCOPES + " scopes with a handler took " + registered + " bytes");
+
+        received[0] = 0;
+        for (ScopedEventBus scope : scopes) {
+            scope.post(new TestEvent());
+        }
+        assertEquals(2 * SCOPES, received[0]);
+    }
+
+    private static <E extends Event> EventHandler<E> prioritized(int priority, Runnable action) {
+        return new EventHandler<>() {
+            @Override
+            public void handle(E event) {
+                action.run();
+            }
+
+            @Override
+            public int priority() {
+                return priority;
+            }
+        };
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -27,10 +27,14 @@ package io.ib67.kiwi.event;
 import io.ib67.kiwi.TypeToken;
 import io.ib67.kiwi.event.api.Event;
 import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.event.api.ExceptionPolicy;
 import io.ib67.kiwi.routine.Interruption;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TestSingleTypedEventBus {
@@ -142,4 +146,66 @@ class TestSingleTypedEventBus {
         assertFalse(eventBus.post(event));
         assertFalse(secondHandlerCalled[0]);
     }
-}
\ No newline at end of file
+
+    private static <E extends Event> EventHandler<E> withPriority(int priority, EventHandler<E> handler) {
+        return new EventHandler<>() {
+            @Override
+            public void handle(E event) throws Interruption {
+                handler.handle(event);
+            }
+
+            @Override
+            public int priority() {
+                return priority;
+            }
+        };
+    }
+
+    @Test
+    void testResumeAfterFailure() {
+        var failures = new ArrayList<Exception>();
+        eventBus = new TypeAwareBus(4, ExceptionPolicy.continueWith(failures::add));
+        int[] calls = new int[3];
+        eventBus.register(eventType, withPriority(1, e -> calls[0]++));
+        eventBus.register(eventType, withPriority(2, e -> {
+            calls[1]++;
+            throw new IllegalStateException("flaky");
+        }));
+        eventBus.register(eventType, withPriority(3, e -> calls[2]++));
+
+        assertTrue(eventBus.post(new TestEvent()));
+        assertArrayEquals(new int[]{1, 1, 1}, calls);
+        assertEquals(1, failures.size());
+        assertEquals("flaky", failures.getFirst().getMessage());
+    }
+
+    @Test
+    void testAbortPolicy() {
+        eventBus = new TypeAwareBus(4, ExceptionPolicy.ABORT);
+        boolean[] called = {false};
+        eventBus.register(eventType, withPriority(1, e -> {
+            throw new IllegalStateException();
+        }));
+        eventBus.register(eventType, withPriority(2, e -> called[0] = true));
+
+        assertFalse(eventBus.post(new TestEvent()));
+        assertFalse(called[0]);
+    }
+
+    @Test
+    void testCollectPolicy() {
+        var policy = ExceptionPolicy.collect();
+        eventBus = new TypeAwareBus(4, policy);
+        eventBus.register(eventType, withPriority(1, e -> {
+            throw new IllegalStateException("first");
+        }));
+        eventBus.register(eventType, withPriority(2, e -> {
+            throw new IllegalArgumentException("second");
+        }));
+
+        assertTrue(eventBus.post(new TestEvent()));
+        var failures = policy.drain();
+        assertEquals(List.of("first", "second"), failures.stream().map(Exception::getMessage).toList());
+        assertTrue(policy.drain().isEmpty());
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.api.Cancellable;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.api.ExceptionPolicy;
+import io.ib67.kiwi.event.api.annotation.SubscribeEvent;
+import io.ib67.kiwi.routine.Interruption;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestStickyEventBus {
+    static class StateEvent implements Event {
+    }
+
+    static class ConfigReloaded extends StateEvent {
+    }
+
+    static class WorldLoaded extends StateEvent {
+    }
+
+    static class OtherEvent implements Event {
+    }
+
+    static class CancellableEvent extends StateEvent implements Cancellable {
+        boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+    }
+
+    public static class StateListener implements EventListenerHost {
+        final List<Event> received = new ArrayList<>();
+
+        @SubscribeEvent
+        public void onState(StateEvent event) {
+            received.add(event);
+        }
+    }
+
+    @Test
+    void testLateSubscriber() {
+        var bus = new StickyEventBus(new HierarchyEventBus());
+        var reloaded = new ConfigReloaded();
+        var loaded = new WorldLoaded();
+        bus.post(new ConfigReloaded());
+        bus.post(loaded);
+        bus.post(reloaded);
+        bus.post(new OtherEvent());
+
+        var received = new ArrayList<Event>();
+        bus.register(StateEvent.class, received::add);
+        assertEquals(List.of(loaded, reloaded), received);
+
+        received.clear();
+        bus.register(ConfigReloaded.class, received::add);
+        assertEquals(List.of(reloaded), received);
+        assertSame(reloaded, bus.getSticky(TypeToken.resolve(ConfigReloaded.class)));
+        assertNull(bus.getSticky(TypeToken.resolve(StateEvent.class)));
+
+        bus.removeSticky(TypeToken.resolve(ConfigReloaded.class));
+        received.clear();
+        bus.register(ConfigReloaded.class, received::add);
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void testEviction() throws Exception {
+        var bus = new StickyEventBus(new HierarchyEventBus(), 2, Duration.ofMillis(200));
+        bus.post(new ConfigReloaded());
+        bus.post(new WorldLoaded());
+        bus.post(new ConfigReloaded());
+        bus.post(new OtherEvent()); // evicts WorldLoaded
+        assertNull(bus.getSticky(TypeToken.resolve(WorldLoaded.class)));
+        assertNotNull(bus.getSticky(TypeToken.resolve(ConfigReloaded.class)));
+        assertNotNull(bus.getSticky(TypeToken.resolve(OtherEvent.class)));
+
+        Thread.sleep(300);
+        var received = new ArrayList<Event>();
+        bus.register(Event.class, received::add);
+        assertTrue(received.isEmpty());
+        assertNull(bus.getSticky(TypeToken.resolve(OtherEvent.class)));
+    }
+
+    @Test
+    void testReplayFailures() {
+        var policy = ExceptionPolicy.collect();
+        var bus = new StickyEventBus(new HierarchyEventBus(), 64, null, policy);
+        var reloaded = new ConfigReloaded();
+        var loaded = new WorldLoaded();
+        bus.post(reloaded);
+        bus.post(loaded);
+        var received = new ArrayList<Event>();
+        var subscription = bus.register(StateEvent.class, event -> {
+            received.add(event);
+            if (event == reloaded) {
+                throw new IllegalStateException("replay");
+            }
+        });
+        assertNotNull(subscription);
+        assertEquals(List.of(reloaded, loaded), received);
+        assertEquals(1, policy.drain().size());
+
+        var abort = new StickyEventBus(new HierarchyEventBus(), 64, null, ExceptionPolicy.ABORT);
+        abort.post(reloaded);
+        abort.post(loaded);
+        received.clear();
+        abort.register(StateEvent.class, event -> {
+            received.add(event);
+            throw new IllegalStateException("replay");
+        });
+        assertEquals(List.of(reloaded), received);
+    }
+
+    @Test
+    void testCancelledEventsAreNotReplayed() {
+        var bus = new StickyEventBus(new HierarchyEventBus());
+        var event = new CancellableEvent();
+        bus.post(event);
+        event.setCancelled(true);
+        var received = new ArrayList<Event>();
+        bus.register(StateEvent.class, received::add);
+        assertTrue(received.isEmpty());
+
+        event.setCancelled(false);
+        bus.register(StateEvent.class, received::add);
+        assertEquals(List.of(event), received);
+    }
+
+    @Test
+    void testInterruptedEventsAreNotRemembered() {
+        var bus = new StickyEventBus(new HierarchyEventBus());
+        var subscription = bus.register(ConfigReloaded.class, event -> {
+            throw Interruption.INTERRUPTION;
+        });
+        assertFalse(bus.post(new ConfigReloaded()));
+        assertNull(bus.getSticky(TypeToken.resolve(ConfigReloaded.class)));
+        subscription.cancel();
+
+        var reloaded = new ConfigReloaded();
+        assertTrue(bus.post(reloaded));
+        assertSame(reloaded, bus.getSticky(TypeToken.resolve(ConfigReloaded.class)));
+    }
+
+    @Test
+    void testWeakRegistration() {
+        var bus = new StickyEventBus(new HierarchyEventBus());
+        var reloaded = new ConfigReloaded();
+        bus.post(reloaded);
+        var host = new StateListener();
+        host.registerWeaklyTo(bus);
+        assertEquals(List.of(reloaded), host.received);
+
+        var loaded = new WorldLoaded();
+        bus.post(loaded);
+        assertEquals(List.of(reloaded, loaded), host.received);
+        bus.unregisterAll(host); // only finds the host if the delegate holds it by its own reference
+        bus.post(new WorldLoaded());
+        assertEquals(List.of(reloaded, loaded), host.received);
+    }
+}
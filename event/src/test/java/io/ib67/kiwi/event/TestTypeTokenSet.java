@@ -3,6 +3,9 @@ package io.ib67.kiwi.event;
 import io.ib67.kiwi.TypeToken;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TestTypeTokenSet {
@@ -63,4 +66,37 @@ class TestTypeTokenSet {
         set.put(intToken, false);
         assertEquals(2, set.size());
     }
+
+    @Test
+    void testConcurrentPut() throws InterruptedException {
+        TypeTokenSet set = new TypeTokenSet(2);
+        var tokens = new TypeToken<?>[2000];
+        tokens[0] = TypeToken.resolve(String.class);
+        for (int i = 1; i < tokens.length; i++) {
+            tokens[i] = new TypeToken<>(List.class, tokens[i - 1]);
+        }
+        var threads = new Thread[4];
+        var failures = new AtomicInteger();
+        for (int t = 0; t < threads.length; t++) {
+            var offset = t * 37;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < tokens.length; i++) {
+                    var index = (i + offset) % tokens.length;
+                    set.put(tokens[index], index % 2 == 0);
+                    if (!Boolean.valueOf(index % 2 == 0).equals(set.get(tokens[index]))) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, failures.get());
+        assertEquals(tokens.length, set.size());
+        for (int i = 0; i < tokens.length; i++) {
+            assertEquals(i % 2 == 0, set.get(tokens[i]));
+        }
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.ib67.kiwi.event.util;
+
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventHandler;
+import io.ib67.kiwi.routine.Interruption;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestAsmDispatcherCompiler {
+    private final AsmDispatcherCompiler compiler = new AsmDispatcherCompiler();
+
+    static class TestEvent implements Event {
+        final StringBuilder trace = new StringBuilder();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EventHandler<Event>[] handlers(EventHandler<TestEvent>... handlers) {
+        return (EventHandler<Event>[]) (Object) handlers;
+    }
+
+    @Test
+    void testCallInOrder() throws Interruption {
+        var compiled = compiler.compile(handlers(
+                e -> e.trace.append("a"),
+                e -> e.trace.append("b"),
+                e -> e.trace.append("c")
+        ), e -> true);
+        assertEquals(1, compiled.length);
+        var event = new TestEvent();
+        compiled[0].handle(event);
+        assertEquals("abc", event.trace.toString());
+    }
+
+    @Test
+    void testInterruption() {
+        var compiled = compiler.compile(handlers(
+                e -> e.trace.append("a"),
+                e -> {
+                    throw Interruption.INTERRUPTION;
+                },
+                e -> e.trace.append("c")
+        ), e -> true);
+        var event = new TestEvent();
+        assertThrows(Interruption.class, () -> compiled[0].handle(event));
+        assertEquals("a", event.trace.toString());
+    }
+
+    @Test
+    void testExceptionHandler() throws Interruption {
+        EventHandler<Event>[] handlers = handlers(
+                e -> e.trace.append("a"),
+                e -> {
+                    throw new IllegalStateException();
+                },
+                e -> e.trace.append("c")
+        );
+        var event = new TestEvent();
+        compiler.compile(handlers, e -> e instanceof IllegalStateException)[0].handle(event);
+        assertEquals("ac", event.trace.toString());
+
+        var stopping = compiler.compile(handlers, e -> false);
+        var anotherEvent = new TestEvent();
+        assertThrows(Interruption.class, () -> stopping[0].handle(anotherEvent));
+        assertEquals("a", anotherEvent.trace.toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSplitIntoClasses() throws Interruption {
+        var count = AsmDispatcherCompiler.MAX_HANDLERS_PER_CLASS * 2 + 1;
+        var handlers = new EventHandler[count];
+        for (int i = 0; i < count; i++) {
+            handlers[i] = (EventHandler<TestEvent>) e -> e.trace.append("x");
+        }
+        var compiled = compiler.compile(handlers, e -> true);
+        assertEquals(3, compiled.length);
+        var event = new TestEvent();
+        for (EventHandler<Event> handler : compiled) {
+            handler.handle(event);
+        }
+        assertEquals(count, event.trace.length());
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.event.util;
+
+import io.ib67.kiwi.TypeToken;
+import io.ib67.kiwi.event.HierarchyEventBus;
+import io.ib67.kiwi.event.api.Event;
+import io.ib67.kiwi.event.api.EventListenerHost;
+import io.ib67.kiwi.event.api.annotation.SubscribeEvent;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestHiddenHandlerUnloading {
+    private static final int RELOADS = 1000;
+
+    @Test
+    void testHiddenHandlersAreHidden() throws Exception {
+        var host = reload();
+        var lookup = lookupOf(host);
+        var handler = new AsmListenerResolver(lookup, host, true).resolveHandlers().getFirst().handler();
+        assertTrue(handler.getClass().isHidden());
+    }
+
+    @Test
+    void testModesAreCachedSeparately() throws Exception {
+        for (var hiddenFirst : new boolean[]{false, true}) {
+            var host = reload();
+            var lookup = lookupOf(host);
+            var first = new AsmListenerResolver(lookup, host, hiddenFirst).resolveHandlers().getFirst().handler();
+            var second = new AsmListenerResolver(lookup, host, !hiddenFirst).resolveHandlers().getFirst().handler();
+            assertEquals(hiddenFirst, first.getClass().isHidden());
+            assertEquals(!hiddenFirst, second.getClass().isHidden());
+            assertNotSame(first.getClass(), second.getClass());
+        }
+    }
+
+    @Test
+    void testReloadedHandlersAreUnloaded() throws Exception {
+        var bus = new HierarchyEventBus();
+        var event = new ReloadEvent();
+        var classLoading = ManagementFactory.getClassLoadingMXBean();
+        var unloaded = new ArrayList<WeakReference<?>>(reloadAndPost(bus, event)); // loads the classes used by every reload
+        awaitUnloaded(unloaded);
+        long loadedClasses = classLoading.getLoadedClassCount();
+        int received = ReloadEvent.RECEIVED.get();
+        for (int i = 0; i < RELOADS; i++) {
+            unloaded.addAll(reloadAndPost(bus, event));
+        }
+        assertEquals(received + RELOADS, ReloadEvent.RECEIVED.get());
+        awaitUnloaded(unloaded);
+        assertFalse(unloaded.stream().anyMatch(it -> it.get() != null), "Reloaded host classes are still reachable");
+        // each reload loads a host class, its bound and a handler class
+        var leaked = classLoading.getLoadedClassCount() - loadedClasses;
+        assertTrue(leaked < RELOADS / 10, leaked + " classes are still loaded after " + RELOADS + " reloads");
+    }
+
+    private static void awaitUnloaded(List<WeakReference<?>> unloaded) throws InterruptedException {
+        for (int i = 0; i < 50 && unloaded.stream().anyMatch(it -> it.get() != null); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * @return references to the reloaded host class and its class loader.
+     */
+    private static List<WeakReference<?>> reloadAndPost(HierarchyEventBus bus, ReloadEvent event) throws Exception {
+        var host = reload();
+        var lookup = lookupOf(host);
+        for (var _tuple : new AsmListenerResolver(lookup, host, true).resolveHandlers()) {
+            var tuple = (EventTuple<Event>) _tuple;
+            bus.register(tuple.type(), tuple.handler(), host);
+        }
+        bus.post(event);
+        bus.unregisterAll(host);
+        return List.of(new WeakReference<>(host.getClass()), new WeakReference<>(host.getClass().getClassLoader()));
+    }
+
+    private static EventListenerHost reload() throws Exception {
+        var clazz = new ReloadingClassLoader().loadClass(ReloadableListener.class.getName());
+        return (EventListenerHost) clazz.getConstructor().newInstance();
+    }
+
+    /**
+     * Hidden classes can only be defined with full privilege access, which is lost by
+     * {@link MethodHandles#privateLookupIn(Class, MethodHandles.Lookup)} across class loaders.
+     */
+    private static MethodHandles.Lookup lookupOf(EventListenerHost host) throws Exception {
+        return (MethodHandles.Lookup) host.getClass().getMethod("lookup").invoke(null);
+    }
+
+    /**
+     * Defines its own copy of {@link ReloadableListener} and its nested classes, like a plugin class loader.
+     */
+    static final class ReloadingClassLoader extends ClassLoader {
+        ReloadingClassLoader() {
+            super(TestHiddenHandlerUnloading.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(ReloadableListener.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                var loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                try (var in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    var bytes = in.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+
+    public static final class ReloadEvent implements Event {
+        public static final AtomicInteger RECEIVED = new AtomicInteger();
+        private static final TypeToken<ReloadEvent> TYPE = TypeToken.resolve(ReloadEvent.class);
+
+        @Override
+        public TypeToken<? extends Event> type() {
+            return TYPE;
+        }
+    }
+
+    /**
+     * Public, as the reloaded copy is in another runtime package than this test. Generic over a reloaded class, whose
+     * token must not be cached either.
+     */
+    public static class ReloadableListener<B extends ReloadableListener.Bound> implements EventListenerHost {
+        public static class Bound {
+        }
+
+        public static MethodHandles.Lookup lookup() {
+            return MethodHandles.lookup();
+        }
+
+        @SubscribeEvent
+        public void onReload(ReloadEvent event) {
+            ReloadEvent.RECEIVED.incrementAndGet();
+        }
+    }
+}
@@ -33,9 +33,14 @@ import org.junit.jupiter.api.Test;
 import org.objectweb.asm.Opcodes;
 
 import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TestListenerResolver implements Opcodes {
@@ -50,6 +55,74 @@ class TestListenerResolver implements Opcodes {
         assertTrue(called.get());
     }
 
+    @Test
+    void testAsmResolverSharesGeneratedClass() throws Exception {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        var calledA = new AtomicBoolean(false);
+        var calledB = new AtomicBoolean(false);
+        var handlerA = new AsmListenerResolver(lookup, new TestListener(calledA)).resolveHandlers().getFirst().handler();
+        var handlerB = new AsmListenerResolver(lookup, new TestListener(calledB)).resolveHandlers().getFirst().handler();
+        assertSame(handlerA.getClass(), handlerB.getClass());
+        handlerB.handle(null);
+        assertFalse(calledA.get());
+        assertTrue(calledB.get());
+    }
+
+    @Test
+    void testAsmResolverGeneratesOneClassPerHost() throws Exception {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        var host = new MultiListener();
+        var handlers = new AsmListenerResolver(lookup, host).resolveHandlers();
+        assertEquals(2, handlers.size());
+        assertSame(handlers.get(0).handler().getClass(), handlers.get(1).handler().getClass());
+        for (var tuple : handlers) {
+            tuple.handler().handle(null);
+        }
+        assertTrue(host.calledA.get());
+        assertTrue(host.calledB.get());
+    }
+
+    @Test
+    void testAsmResolverWeakHandlers() throws Exception {
+        var host = new MultiListener();
+        var reference = new WeakReference<EventListenerHost>(host);
+        var handlers = AsmListenerResolver.resolveWeakHandlers(host, reference);
+        var strongHandler = new AsmListenerResolver(MethodHandles.lookup(), host).resolveHandlers().getFirst().handler();
+        assertNotSame(strongHandler.getClass(), handlers.getFirst().handler().getClass());
+        handlers.getFirst().handler().handle(null);
+        assertTrue(host.calledA.get() || host.calledB.get());
+        reference.clear();
+        for (var tuple : handlers) {
+            tuple.handler().handle(null); // would fail the assertions in the host if it were called again.
+        }
+        assertFalse(host.calledA.get() && host.calledB.get());
+    }
+
+    @Test
+    void testLambdaResolver() throws Exception {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        var calledA = new AtomicBoolean(false);
+        var calledB = new AtomicBoolean(false);
+        var handlerA = new LambdaListenerResolver(lookup, new TestListener(calledA)).resolveHandlers().getFirst().handler();
+        var handlerB = new LambdaListenerResolver(lookup, new TestListener(calledB)).resolveHandlers().getFirst().handler();
+        assertSame(handlerA.getClass(), handlerB.getClass());
+        handlerA.handle(null);
+        assertTrue(calledA.get());
+        assertFalse(calledB.get());
+    }
+
+    @Test
+    void testLambdaResolverPerLookup() throws Exception {
+        var host = new TestListener(new AtomicBoolean(false));
+        var lookupA = MethodHandles.lookup();
+        var lookupB = MethodHandles.privateLookupIn(TestListener.class, lookupA);
+        var handlerA = new LambdaListenerResolver(lookupA, host).resolveHandlers().getFirst().handler();
+        var handlerB = new LambdaListenerResolver(lookupB, host).resolveHandlers().getFirst().handler();
+        assertSame(TestListenerResolver.class, handlerA.getClass().getNestHost());
+        assertSame(TestListenerResolver.class, handlerB.getClass().getNestHost());
+        assertNotSame(handlerA.getClass(), handlerB.getClass());
+    }
+
     @Test
     void testMhResolver() throws Exception {
         MethodHandles.Lookup lookup = MethodHandles.lookup();
@@ -61,6 +134,21 @@ class TestListenerResolver implements Opcodes {
         assertTrue(called.get());
     }
 
+    static class MultiListener implements EventListenerHost {
+        private final AtomicBoolean calledA = new AtomicBoolean(false);
+        private final AtomicBoolean calledB = new AtomicBoolean(false);
+
+        @SubscribeEvent
+        public void onA(TestEvent event) {
+            assertFalse(calledA.getAndSet(true));
+        }
+
+        @SubscribeEvent
+        public void onB(TestEvent event) {
+            assertFalse(calledB.getAndSet(true));
+        }
+    }
+
     static class TestEvent implements Event {
         @Override
         public TypeToken<? extends Event> type() {
@@ -27,8 +27,11 @@ package io.ib67.kiwi.event.util;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -82,4 +85,89 @@ class TestSortedArraySet {
         assertFalse(set.contains(null));
         assertFalse(set.remove(null));
     }
+
+    @Test
+    void testRemoveEqualPriority() {
+        var list = new SortedArrayList<String>(4, Comparator.comparingInt(String::length));
+        list.add("aa");
+        list.add("bb");
+        list.add("cc");
+        list.add("d");
+        assertTrue(list.remove("bb"));
+        assertFalse(list.remove("ee"));
+        assertFalse(list.contains("bb"));
+        assertTrue(list.contains("aa"));
+        assertTrue(list.contains("cc"));
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    void testEqualOrderKeepsInsertionOrder() {
+        var list = new SortedArrayList<String>(4, Comparator.comparingInt(String::length));
+        list.add("aa");
+        list.add("b");
+        list.add("cc");
+        list.add("d");
+        list.add("ee");
+        assertEquals(List.of("b", "d", "aa", "cc", "ee"), List.copyOf(list));
+    }
+
+    @Test
+    void testAddAll() {
+        var random = new Random(42);
+        var list = new SortedArrayList<int[]>(4, Comparator.comparingInt(it -> it[0]));
+        var expected = new ArrayList<int[]>();
+        var sequence = 0;
+        for (int round = 0; round < 20; round++) {
+            var batch = new ArrayList<int[]>();
+            for (int i = random.nextInt(50); i > 0; i--) {
+                batch.add(new int[]{random.nextInt(10), sequence++});
+            }
+            if (round % 2 == 0) {
+                list.addAll(batch);
+            } else {
+                batch.forEach(list::add);
+            }
+            expected.addAll(batch);
+        }
+        expected.sort(Comparator.comparingInt(it -> it[0])); // stable
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), list.get(i));
+        }
+        assertFalse(list.addAll(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> list.addAll(Arrays.asList(new int[]{1}, null)));
+    }
+
+    @Test
+    void testSnapshot() {
+        set.addAll(List.of(3, 1, 2));
+        var snapshot = set.snapshot();
+        assertArrayEquals(new Object[]{1, 2, 3}, snapshot);
+        assertSame(snapshot, set.snapshot());
+
+        set.add(0);
+        assertArrayEquals(new Object[]{1, 2, 3}, snapshot);
+        assertArrayEquals(new Object[]{0, 1, 2, 3}, set.snapshot());
+
+        var iterator = set.iterator();
+        iterator.next();
+        iterator.remove();
+        assertArrayEquals(new Object[]{1, 2, 3}, set.snapshot());
+
+        set.subList(0, 1).clear();
+        assertArrayEquals(new Object[]{2, 3}, set.snapshot());
+
+        set.removeIf(it -> it == 3);
+        assertArrayEquals(new Object[]{2}, set.snapshot());
+    }
+
+    @Test
+    void testImmutableCopy() {
+        set.addAll(List.of(2, 1));
+        var copy = set.immutableCopy();
+        set.add(3);
+        assertArrayEquals(new Object[]{1, 2}, copy.snapshot());
+        assertThrows(UnsupportedOperationException.class, () -> copy.add(4));
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.collect;
+
+import io.ib67.kiwi.TypeToken;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups and insertions of the open addressing collections against their {@link HashMap} and {@link HashSet} equivalents.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BenchmarkCollections {
+    @Param({"16", "1024"})
+    public int size;
+
+    private int[] intKeys;
+    private String[] stringKeys;
+    private TypeToken<?>[] typeKeys;
+
+    private IntObjectMap<Object> intObjectMap;
+    private Map<Integer, Object> boxedIntMap;
+    private ObjectIntMap<String> objectIntMap;
+    private Map<String, Integer> boxedValueMap;
+    private IntSet intSet;
+    private Set<Integer> boxedIntSet;
+    private TypeTokenMap<Object> typeTokenMap;
+    private Map<TypeToken<?>, Object> typeHashMap;
+
+    @Setup
+    public void setup() {
+        intKeys = new int[size];
+        stringKeys = new String[size];
+        typeKeys = new TypeToken<?>[size];
+        typeKeys[0] = TypeToken.resolve(String.class);
+        for (int i = 0; i < size; i++) {
+            intKeys[i] = i * 0x61C88647;
+            stringKeys[i] = "key" + i;
+            if (i > 0) {
+                typeKeys[i] = new TypeToken<>(List.class, typeKeys[i - 1]);
+            }
+        }
+        intObjectMap = new IntObjectMap<>();
+        boxedIntMap = new HashMap<>();
+        objectIntMap = new ObjectIntMap<>();
+        boxedValueMap = new HashMap<>();
+        intSet = new IntSet();
+        boxedIntSet = new HashSet<>();
+        typeTokenMap = new TypeTokenMap<>();
+        typeHashMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            intObjectMap.put(intKeys[i], stringKeys[i]);
+            boxedIntMap.put(intKeys[i], stringKeys[i]);
+            objectIntMap.put(stringKeys[i], i);
+            boxedValueMap.put(stringKeys[i], i);
+            intSet.add(intKeys[i]);
+            boxedIntSet.add(intKeys[i]);
+            typeTokenMap.put(typeKeys[i], stringKeys[i]);
+            typeHashMap.put(typeKeys[i], stringKeys[i]);
+        }
+    }
+
+    @Benchmark
+    public void getIntObjectMap(Blackhole bh) {
+        for (int key : intKeys) {
+            bh.consume(intObjectMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void getIntHashMap(Blackhole bh) {
+        for (int key : intKeys) {
+            bh.consume(boxedIntMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void getObjectIntMap(Blackhole bh) {
+        for (String key : stringKeys) {
+            bh.consume(objectIntMap.getOrDefault(key, -1));
+        }
+    }
+
+    @Benchmark
+    public void getStringHashMap(Blackhole bh) {
+        for (String key : stringKeys) {
+            bh.consume(boxedValueMap.getOrDefault(key, -1));
+        }
+    }
+
+    @Benchmark
+    public void containsIntSet(Blackhole bh) {
+        for (int key : intKeys) {
+            bh.consume(intSet.contains(key));
+        }
+    }
+
+    @Benchmark
+    public void containsHashSet(Blackhole bh) {
+        for (int key : intKeys) {
+            bh.consume(boxedIntSet.contains(key));
+        }
+    }
+
+    @Benchmark
+    public void getTypeTokenMap(Blackhole bh) {
+        for (TypeToken<?> key : typeKeys) {
+            bh.consume(typeTokenMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void getTypeHashMap(Blackhole bh) {
+        for (TypeToken<?> key : typeKeys) {
+            bh.consume(typeHashMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public IntObjectMap<Object> fillIntObjectMap() {
+        var map = new IntObjectMap<>();
+        for (int i = 0; i < intKeys.length; i++) {
+            map.put(intKeys[i], stringKeys[i]);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<Integer, Object> fillIntHashMap() {
+        var map = new HashMap<Integer, Object>();
+        for (int i = 0; i < intKeys.length; i++) {
+            map.put(intKeys[i], stringKeys[i]);
+        }
+        return map;
+    }
+}
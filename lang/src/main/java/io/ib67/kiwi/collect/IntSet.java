@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.collect;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A set of {@code int}s, without boxing. The element {@code 0} marks empty slots, so it is tracked aside of the table.
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public class IntSet {
+    private int[] keys;
+    private int mask;
+    private int threshold;
+    private int assigned;
+    private boolean hasZero;
+
+    public IntSet() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize number of elements to hold without resizing
+     */
+    public IntSet(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        threshold = Hashing.threshold(capacity);
+    }
+
+    private int indexOf(int key) {
+        var keys = this.keys;
+        var i = Hashing.mix(key) & mask;
+        for (int k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+            if (k == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(int key) {
+        return key == 0 ? hasZero : indexOf(key) >= 0;
+    }
+
+    /**
+     * @return whether the element was absent
+     */
+    public boolean add(int key) {
+        if (key == 0) {
+            var absent = !hasZero;
+            hasZero = true;
+            return absent;
+        }
+        var keys = this.keys;
+        var i = Hashing.mix(key) & mask;
+        for (int k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+            if (k == key) {
+                return false;
+            }
+        }
+        keys[i] = key;
+        if (++assigned > threshold) {
+            rehash(Hashing.grow(keys.length));
+        }
+        return true;
+    }
+
+    /**
+     * @return whether the element was present
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            var present = hasZero;
+            hasZero = false;
+            return present;
+        }
+        var i = indexOf(key);
+        if (i < 0) {
+            return false;
+        }
+        shiftDown(i);
+        assigned--;
+        return true;
+    }
+
+    private void shiftDown(int gap) {
+        var keys = this.keys;
+        for (int i = (gap + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (Hashing.canShift(Hashing.mix(keys[i]) & mask, gap, i, mask)) {
+                keys[gap] = keys[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        var oldKeys = keys;
+        allocate(capacity);
+        for (int key : oldKeys) {
+            if (key == 0) {
+                continue;
+            }
+            var i = Hashing.mix(key) & mask;
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+        }
+    }
+
+    public void forEach(IntConsumer consumer) {
+        if (hasZero) {
+            consumer.accept(0);
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                consumer.accept(key);
+            }
+        }
+    }
+
+    /**
+     * @return elements in no particular order
+     */
+    public int[] toArray() {
+        var result = new int[size()];
+        var index = 0;
+        if (hasZero) {
+            index++; // result[0] is already 0
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return hasZero ? assigned + 1 : assigned;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        assigned = 0;
+        hasZero = false;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.collect;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A map from objects to {@code int}s, without boxing values. Null keys are not allowed.
+ * Hashes of keys are cached, so probing only calls {@link Object#equals(Object)} on matching hashes.
+ *
+ * @param <K> type of keys
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public class ObjectIntMap<K> {
+    private Object[] keys;
+    private int[] hashes;
+    private int[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    public ObjectIntMap() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize number of entries to hold without resizing
+     */
+    public ObjectIntMap(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        hashes = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = Hashing.threshold(capacity);
+    }
+
+    private int indexOf(Object key) {
+        if (key == null) {
+            return -1;
+        }
+        var hash = Hashing.mix(key.hashCode());
+        var keys = this.keys;
+        var hashes = this.hashes;
+        var i = hash & mask;
+        for (Object k; (k = keys[i]) != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && (k == key || k.equals(key))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int getOrDefault(Object key, int defaultValue) {
+        var i = indexOf(key);
+        return i < 0 ? defaultValue : values[i];
+    }
+
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    public void put(K key, int value) {
+        var i = insertionIndex(key); // may resize, so the array is read afterwards
+        values[i] = value;
+    }
+
+    /**
+     * Adds to the value of the key, which is 0 if absent.
+     *
+     * @return the new value
+     */
+    public int addTo(K key, int increment) {
+        var i = insertionIndex(key);
+        return values[i] += increment;
+    }
+
+    /**
+     * Finds the slot of the key, inserting it with a value of 0 if absent.
+     */
+    private int insertionIndex(K key) {
+        Objects.requireNonNull(key);
+        var hash = Hashing.mix(key.hashCode());
+        var keys = this.keys;
+        var i = hash & mask;
+        for (Object k; (k = keys[i]) != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && (k == key || k.equals(key))) {
+                return i;
+            }
+        }
+        if (size + 1 > threshold) {
+            rehash(Hashing.grow(keys.length));
+            return insertionIndex(key);
+        }
+        keys[i] = key;
+        hashes[i] = hash;
+        values[i] = 0;
+        size++;
+        return i;
+    }
+
+    /**
+     * @return whether the key was present
+     */
+    public boolean remove(Object key) {
+        var i = indexOf(key);
+        if (i < 0) {
+            return false;
+        }
+        shiftDown(i);
+        size--;
+        return true;
+    }
+
+    private void shiftDown(int gap) {
+        var keys = this.keys;
+        var hashes = this.hashes;
+        var values = this.values;
+        for (int i = (gap + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+            if (Hashing.canShift(hashes[i] & mask, gap, i, mask)) {
+                keys[gap] = keys[i];
+                hashes[gap] = hashes[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        var oldKeys = keys;
+        var oldHashes = hashes;
+        var oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == null) {
+                continue;
+            }
+            var i = oldHashes[j] & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            hashes[i] = oldHashes[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super K> consumer) {
+        var keys = this.keys;
+        var values = this.values;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                consumer.accept((K) keys[i], values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<K> {
+        void accept(K key, int value);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.collect;
+
+import io.ib67.kiwi.TypeToken;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A map keyed by {@link TypeToken}s. Their {@link TypeToken#longHash() long hashes} are cached along with keys, so
+ * probing rarely calls {@link TypeToken#equals(Object)}, which compares type parameters recursively.
+ * Null keys are not allowed, null values are.
+ *
+ * @param <V> type of values
+ */
+@ApiStatus.AvailableSince("1.2.3")
+public class TypeTokenMap<V> {
+    private TypeToken<?>[] keys;
+    private long[] hashes;
+    private Object[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    public TypeTokenMap() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize number of entries to hold without resizing
+     */
+    public TypeTokenMap(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new TypeToken<?>[capacity];
+        hashes = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = Hashing.threshold(capacity);
+    }
+
+    private int indexOf(TypeToken<?> key) {
+        if (key == null) {
+            return -1;
+        }
+        var hash = key.longHash();
+        var keys = this.keys;
+        var hashes = this.hashes;
+        var i = Hashing.mix(hash) & mask;
+        for (TypeToken<?> k; (k = keys[i]) != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && (k == key || k.equals(key))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the value of the key, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(TypeToken<?> key) {
+        var i = indexOf(key);
+        return i < 0 ? null : (V) values[i];
+    }
+
+    public boolean containsKey(TypeToken<?> key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * @return the previous value, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V put(TypeToken<?> key, V value) {
+        Objects.requireNonNull(key);
+        var hash = key.longHash();
+        var keys = this.keys;
+        var i = Hashing.mix(hash) & mask;
+        for (TypeToken<?> k; (k = keys[i]) != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && (k == key || k.equals(key))) {
+                var previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        hashes[i] = hash;
+        values[i] = value;
+        if (++size > threshold) {
+            rehash(Hashing.grow(keys.length));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value of the key, computing and putting it if absent.
+     */
+    public V computeIfAbsent(TypeToken<?> key, Function<? super TypeToken<?>, ? extends V> mappingFunction) {
+        var i = indexOf(key);
+        if (i >= 0) {
+            @SuppressWarnings("unchecked")
+            var value = (V) values[i];
+            return value;
+        }
+        V value = mappingFunction.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * @return the removed value, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(TypeToken<?> key) {
+        var i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        var previous = (V) values[i];
+        shiftDown(i);
+        size--;
+        return previous;
+    }
+
+    private void shiftDown(int gap) {
+        var keys = this.keys;
+        var hashes = this.hashes;
+        var values = this.values;
+        for (int i = (gap + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+            if (Hashing.canShift(Hashing.mix(hashes[i]) & mask, gap, i, mask)) {
+                keys[gap] = keys[i];
+                hashes[gap] = hashes[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = null;
+        values[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        var oldKeys = keys;
+        var oldHashes = hashes;
+        var oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == null) {
+                continue;
+            }
+            var i = Hashing.mix(oldHashes[j]) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            hashes[i] = oldHashes[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super TypeToken<?>, ? super V> consumer) {
+        var keys = this.keys;
+        var values = this.values;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.collect;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestIntObjectMap {
+    @Test
+    void testPutGetRemove() {
+        var map = new IntObjectMap<String>(2);
+        for (int i = -100; i < 100; i++) {
+            assertNull(map.put(i, "v" + i));
+        }
+        assertEquals(200, map.size());
+        assertEquals("v0", map.get(0));
+        assertEquals("v-7", map.put(-7, "x"));
+        for (int i = -100; i < 100; i += 2) {
+            assertNotNull(map.remove(i));
+        }
+        assertEquals(100, map.size());
+        for (int i = -100; i < 100; i++) {
+            assertEquals(i % 2 != 0, map.containsKey(i));
+        }
+        assertEquals("x", map.get(-7));
+    }
+
+    @Test
+    void testZeroKey() {
+        var map = new IntObjectMap<String>();
+        assertFalse(map.containsKey(0));
+        map.put(0, null);
+        assertTrue(map.containsKey(0));
+        assertEquals(1, map.size());
+        map.remove(0);
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testForEach() {
+        var map = new IntObjectMap<Integer>();
+        for (int i = 0; i < 50; i++) {
+            map.put(i * 31, i);
+        }
+        var copy = new HashMap<Integer, Integer>();
+        map.forEach(copy::put);
+        assertEquals(50, copy.size());
+        for (Map.Entry<Integer, Integer> entry : copy.entrySet()) {
+            assertEquals(entry.getKey(), entry.getValue() * 31);
+        }
+        assertEquals(7, map.computeIfAbsent(7 * 31, k -> -1));
+        assertEquals(-1, map.computeIfAbsent(-5, k -> -1));
+    }
+}
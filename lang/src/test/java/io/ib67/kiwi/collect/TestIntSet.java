@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.collect;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestIntSet {
+    @Test
+    void testAddRemove() {
+        var set = new IntSet(0);
+        for (int i = -50; i < 50; i++) {
+            assertTrue(set.add(i));
+        }
+        assertFalse(set.add(0));
+        assertEquals(100, set.size());
+        for (int i = -50; i < 50; i += 3) {
+            assertTrue(set.remove(i));
+        }
+        for (int i = -50; i < 50; i++) {
+            assertEquals((i + 50) % 3 != 0, set.contains(i));
+        }
+    }
+
+    @Test
+    void testToArray() {
+        var set = new IntSet();
+        set.add(0);
+        set.add(5);
+        set.add(-3);
+        var array = set.toArray();
+        Arrays.sort(array);
+        assertArrayEquals(new int[]{-3, 0, 5}, array);
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0));
+    }
+}
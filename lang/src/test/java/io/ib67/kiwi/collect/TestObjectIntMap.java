@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.collect;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestObjectIntMap {
+    @Test
+    void testPutGetRemove() {
+        var map = new ObjectIntMap<String>(1);
+        for (int i = 0; i < 100; i++) {
+            map.put("k" + i, i);
+        }
+        assertEquals(100, map.size());
+        assertEquals(42, map.getOrDefault("k42", -1));
+        assertEquals(-1, map.getOrDefault("absent", -1));
+        assertEquals(-1, map.getOrDefault(null, -1));
+        for (int i = 0; i < 100; i += 2) {
+            assertTrue(map.remove("k" + i));
+        }
+        assertFalse(map.remove("k0"));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? -1 : i, map.getOrDefault("k" + i, -1));
+        }
+    }
+
+    @Test
+    void testAddTo() {
+        var map = new ObjectIntMap<String>();
+        assertEquals(3, map.addTo("counter", 3));
+        assertEquals(7, map.addTo("counter", 4));
+        assertEquals(1, map.size());
+        assertThrows(NullPointerException.class, () -> map.addTo(null, 1));
+    }
+}
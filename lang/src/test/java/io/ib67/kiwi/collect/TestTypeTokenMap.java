@@ -0,0 +1,50 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Kalculos and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.ib67.kiwi.collect;
+
+import io.ib67.kiwi.TypeToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTypeTokenMap {
+    @Test
+    void testParameterizedKeys() {
+        var map = new TypeTokenMap<String>(1);
+        map.put(new TypeToken<List<String>>() {}, "strings");
+        map.put(new TypeToken<List<Integer>>() {}, "integers");
+        map.put(TypeToken.resolve(Map.class), "map");
+        assertEquals(3, map.size());
+        assertEquals("strings", map.get(new TypeToken<List<String>>() {}));
+        assertEquals("integers", map.get(new TypeToken<List<Integer>>() {}));
+        assertNull(map.get(new TypeToken<List<Long>>() {}));
+        assertEquals("map", map.remove(TypeToken.resolve(Map.class)));
+        assertFalse(map.containsKey(TypeToken.resolve(Map.class)));
+        assertEquals("strings", map.computeIfAbsent(new TypeToken<List<String>>() {}, it -> "other"));
+        assertThrows(NullPointerException.class, () -> map.put(null, "null"));
+    }
+}